@@ -0,0 +1,107 @@
+#!/usr/bin/env bash
+# JVM versus native benchmark for the native build (run by mvn -Pnative verify).
+# Starts the application as the native executable and as the JVM jar, one after the other, and
+# for each measures the time until /actuator/health answers, the resident set size once started,
+# and the throughput of authenticated GET /api/products/{id} requests, then reports peak RSS.
+# Fails when either build does not start or any measured request does not return 200.
+#
+# Usage: scripts/native-benchmark.sh <native executable> <jar> [requests] [concurrency] [port]
+set -euo pipefail
+
+binary=${1:?usage: $0 <native executable> <jar> [requests] [concurrency] [port]}
+jar=${2:?usage: $0 <native executable> <jar> [requests] [concurrency] [port]}
+requests=${3:-2000}
+concurrency=${4:-16}
+port=${5:-18080}
+base="http://localhost:$port"
+work=$(mktemp -d)
+pid=
+
+common=(--server.port="$port" --logging.level.com.store.management.api=WARN)
+
+cleanup() {
+    if [[ -n "$pid" ]]; then
+        kill "$pid" 2> /dev/null || true
+    fi
+    rm -rf "$work"
+}
+trap cleanup EXIT
+
+for file in "$binary" "$jar"; do
+    if [[ ! -f "$file" ]]; then
+        echo "No $file; build with mvn -Pnative package first" >&2
+        exit 1
+    fi
+done
+
+rss_kb() {
+    awk -v key="$2:" '$1 == key { print $2 }' "/proc/$1/status"
+}
+
+# Writes a curl config with one transfer per request, so curl --parallel keeps the connections busy
+request_config() {
+    local token=$1 count=$2 i
+    echo "header = \"Authorization: Bearer $token\""
+    for ((i = 0; i < count; i++)); do
+        echo "url = \"$base/api/products/$(( i % 10 + 1 ))\""
+        echo "output = \"/dev/null\""
+    done
+}
+
+run() {
+    local name=$1 start end startup token ok elapsed attempt
+    shift
+    start=$(date +%s%N)
+    "$@" "${common[@]}" > "$work/$name.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$base/actuator/health"; do
+        if ! kill -0 "$pid" 2> /dev/null || (( $(date +%s%N) - start > 180000000000 )); then
+            echo "$name build did not start, see its log:" >&2
+            tail -n 50 "$work/$name.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    startup=$(( (end - start) / 1000000 ))
+    local rss_started
+    rss_started=$(rss_kb "$pid" VmRSS)
+
+    # Seed data is written once the application is ready, shortly after health first answers
+    token=
+    for ((attempt = 0; attempt < 60 && ${#token} == 0; attempt++)); do
+        token=$(curl -s -H 'Content-Type: application/json' -d '{"username":"user","password":"user123"}' \
+            "$base/api/auth/login" | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+        [[ -n "$token" ]] || sleep 0.5
+    done
+    if [[ -z "$token" ]]; then
+        echo "$name build did not issue a token" >&2
+        exit 1
+    fi
+
+    request_config "$token" 200 > "$work/warm-up.cfg"
+    curl -s --no-progress-meter -Z --parallel-max "$concurrency" -K "$work/warm-up.cfg" > /dev/null
+    request_config "$token" "$requests" > "$work/requests.cfg"
+    start=$(date +%s%N)
+    curl -s --no-progress-meter -Z --parallel-max "$concurrency" -K "$work/requests.cfg" -w '%{http_code}\n' > "$work/status"
+    end=$(date +%s%N)
+    elapsed=$(( (end - start) / 1000000 ))
+    ok=$(grep -c '^200$' "$work/status" || true)
+    if (( ok != requests )); then
+        echo "$name build answered $ok of $requests requests with 200" >&2
+        exit 1
+    fi
+
+    printf '%-7s %10s %16s %13s %12s\n' "$name" "$startup" \
+        "$(( rss_started / 1024 ))" "$(( $(rss_kb "$pid" VmHWM) / 1024 ))" \
+        "$(awk -v n="$requests" -v ms="$elapsed" 'BEGIN { printf "%.0f", n * 1000 / (ms > 0 ? ms : 1) }')"
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    pid=
+}
+
+echo "$requests requests of GET /api/products/{id}, $concurrency in parallel"
+printf '%-7s %10s %16s %13s %12s\n' build startup-ms started-rss-mb peak-rss-mb requests/s
+run native "$binary"
+run JVM java -jar "$jar"
@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Startup benchmark for the fast-start build (run by mvn -Pfast-start verify).
+# Starts the extracted application with and without its AOT code and AppCDS archive, measuring the
+# time until the context is refreshed and the web server is listening. Fails when the optimized
+# median is above max-ratio of the plain median, or above max-ms when that is set (0 = no limit).
+# The archive is mapped with -Xshare:on, so an archive that no longer matches the jars fails too.
+#
+# Usage: scripts/startup-benchmark.sh <extracted jar> [runs] [max ratio] [max ms]
+set -euo pipefail
+
+jar=${1:?usage: $0 <extracted jar> [runs] [max ratio] [max ms]}
+runs=${2:-3}
+max_ratio=${3:-0.8}
+max_ms=${4:-0}
+archive="$(dirname "$jar")/application.jsa"
+
+common=(-Dspring.profiles.active=fast-start -Dspring.context.exit=onRefresh)
+
+if [[ ! -f "$archive" ]]; then
+    echo "No CDS archive at $archive; build with mvn -Pfast-start package first" >&2
+    exit 1
+fi
+
+time_start() {
+    local start end
+    start=$(date +%s%N)
+    java "$@" -jar "$jar" --server.port=0 > /dev/null
+    end=$(date +%s%N)
+    echo $(( (end - start) / 1000000 ))
+}
+
+median() {
+    printf '%s\n' "$@" | sort -n | sed -n "$(( ($# + 1) / 2 ))p"
+}
+
+plain=()
+optimized=()
+for ((i = 1; i <= runs; i++)); do
+    plain+=("$(time_start "${common[@]}")")
+    optimized+=("$(time_start "${common[@]}" -Dspring.aot.enabled=true -XX:SharedArchiveFile="$archive" -Xshare:on)")
+    echo "Run $i: plain ${plain[-1]} ms, AOT and CDS ${optimized[-1]} ms"
+done
+
+plain_median=$(median "${plain[@]}")
+optimized_median=$(median "${optimized[@]}")
+limit=$(awk -v p="$plain_median" -v r="$max_ratio" 'BEGIN { printf "%d", p * r }')
+if (( max_ms > 0 && max_ms < limit )); then
+    limit=$max_ms
+fi
+echo "Median startup: plain ${plain_median} ms, AOT and CDS ${optimized_median} ms (limit ${limit} ms)"
+
+if (( optimized_median > limit )); then
+    echo "Startup regression: ${optimized_median} ms exceeds ${limit} ms" >&2
+    exit 1
+fi
@@ -0,0 +1,202 @@
+package com.store.management.api.config;
+
+import com.store.management.api.model.MovementType;
+import com.store.management.api.model.Product;
+import com.store.management.api.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a synthetic catalog at realistic volume for performance testing (--spring.profiles.active=generate-data).
+ * Rows come from SyntheticCatalog and are written by a pool of threads with JDBC batch inserts, one
+ * transaction per batch, each stocked product together with its opening balance in the stock ledger.
+ * IDs continue after the existing rows, and the ID generators are moved past the generated ones
+ * afterwards. The rows bypass the outbox, and the second-level cache is cleared once they are in.
+ */
+@Component
+@ConditionalOnProperty(name = "data-generator.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class DataGenerator implements CommandLineRunner {
+
+    // allocationSize of stock_movement_seq
+    private static final int MOVEMENT_ID_BLOCK = 50;
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (id, name, description, price, category, "
+        + "brand, stock_quantity, stock_version, version, active, created_at, updated_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MOVEMENT = "INSERT INTO stock_movements (id, product_id, version, type, "
+        + "quantity, reference, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER = "INSERT INTO users (id, username, email, password, first_name, last_name, "
+        + "role, enabled, account_non_expired, account_non_locked, credentials_non_expired, created_at, updated_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataGeneratorProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public DataGenerator(DataGeneratorProperties properties,
+                         JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         PasswordEncoder passwordEncoder,
+                         EntityManagerFactory entityManagerFactory) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void run(String... args) {
+        long start = System.nanoTime();
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        log.info("Generating {} products and {} users from seed {} on {} threads",
+            properties.getProducts(), properties.getUsers(), properties.getSeed(), threads);
+
+        SyntheticCatalog catalog = new SyntheticCatalog(
+            properties.getSeed(), properties.getAnchor(), properties.getHistoryDays());
+        long productBase = maxId("products");
+        long userBase = maxId("users");
+        // Reserves a block of the ledger sequence past any block Hibernate holds; generated movement IDs follow it
+        long movementBase = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR stock_movement_seq", Long.class);
+        String passwordHash = passwordEncoder.encode(properties.getUserPassword());
+        AtomicLong movements = new AtomicLong();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "data-generator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            for (long from = 0; from < properties.getProducts(); from += properties.getBatchSize()) {
+                long batchFrom = from;
+                long batchTo = Math.min(from + properties.getBatchSize(), properties.getProducts());
+                batches.add(executor.submit(() ->
+                    movements.addAndGet(insertProducts(catalog, batchFrom, batchTo, productBase, movementBase))));
+            }
+            for (long from = 0; from < properties.getUsers(); from += properties.getBatchSize()) {
+                long batchFrom = from;
+                long batchTo = Math.min(from + properties.getBatchSize(), properties.getUsers());
+                batches.add(executor.submit(() -> insertUsers(catalog, batchFrom, batchTo, userBase, passwordHash)));
+            }
+            await(batches);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        jdbcTemplate.execute("ALTER TABLE products ALTER COLUMN id RESTART WITH " + (productBase + properties.getProducts() + 1));
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (userBase + properties.getUsers() + 1));
+        jdbcTemplate.execute("ALTER SEQUENCE stock_movement_seq RESTART WITH "
+            + (movementBase + properties.getProducts() + MOVEMENT_ID_BLOCK));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        log.info("Generated {} products, {} opening balances and {} users in {} ms",
+            properties.getProducts(), movements.get(), properties.getUsers(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int insertProducts(SyntheticCatalog catalog, long from, long to, long productBase, long movementBase) {
+        List<Product> products = new ArrayList<>((int) (to - from));
+        for (long index = from; index < to; index++) {
+            products.add(catalog.product(index, productBase + index + 1));
+        }
+        List<Product> stocked = products.stream()
+            .filter(product -> product.getStockQuantity() > 0)
+            .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT, products, products.size(), (statement, product) -> {
+                statement.setLong(1, product.getId());
+                statement.setString(2, product.getName());
+                statement.setString(3, product.getDescription());
+                statement.setBigDecimal(4, product.getPrice());
+                statement.setString(5, product.getCategory());
+                statement.setString(6, product.getBrand());
+                statement.setInt(7, product.getStockQuantity());
+                statement.setLong(8, product.getStockVersion());
+                statement.setLong(9, 0L);
+                statement.setBoolean(10, product.getActive());
+                statement.setObject(11, product.getCreatedAt());
+                statement.setObject(12, product.getUpdatedAt());
+            });
+            if (!stocked.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_MOVEMENT, stocked, stocked.size(), (statement, product) -> {
+                    statement.setLong(1, movementBase + product.getId() - productBase);
+                    statement.setLong(2, product.getId());
+                    statement.setLong(3, 1L);
+                    statement.setString(4, MovementType.RECEIPT.name());
+                    statement.setInt(5, product.getStockQuantity());
+                    statement.setString(6, "Opening balance");
+                    statement.setObject(7, product.getCreatedAt());
+                });
+            }
+        });
+        return stocked.size();
+    }
+
+    private void insertUsers(SyntheticCatalog catalog, long from, long to, long userBase, String passwordHash) {
+        List<User> users = new ArrayList<>((int) (to - from));
+        for (long index = from; index < to; index++) {
+            users.add(catalog.user(index, userBase + index + 1, passwordHash));
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (statement, user) -> {
+                statement.setLong(1, user.getId());
+                statement.setString(2, user.getUsername());
+                statement.setString(3, user.getEmail());
+                statement.setString(4, user.getPassword());
+                statement.setString(5, user.getFirstName());
+                statement.setString(6, user.getLastName());
+                statement.setString(7, user.getRole().name());
+                statement.setBoolean(8, user.getEnabled());
+                statement.setBoolean(9, user.getAccountNonExpired());
+                statement.setBoolean(10, user.getAccountNonLocked());
+                statement.setBoolean(11, user.getCredentialsNonExpired());
+                statement.setObject(12, user.getCreatedAt());
+                statement.setObject(13, user.getUpdatedAt());
+            }));
+    }
+
+    private long maxId(String table) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+    }
+
+    private static void await(List<Future<?>> batches) {
+        for (Future<?> batch : batches) {
+            try {
+                batch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while generating data", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Data generation failed", e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.store.management.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDateTime;
+
+/**
+ * Synthetic catalog loaded by DataGenerator when data-generator.enabled is true (the generate-data profile)
+ */
+@ConfigurationProperties(prefix = "data-generator")
+@Data
+public class DataGeneratorProperties {
+
+    private boolean enabled;
+
+    /** The same seed, counts and anchor always produce the same rows */
+    private long seed = 42;
+
+    private long products = 1_000_000;
+
+    private long users = 10_000;
+
+    /** Rows per JDBC batch; each batch is inserted in its own transaction */
+    private int batchSize = 5_000;
+
+    /** Insert threads (0 = number of CPUs); keep below the connection pool size */
+    private int threads = 0;
+
+    /** Password of every generated user, hashed once */
+    private String userPassword = "password123";
+
+    /** Latest creation and update time; rows are spread over the history-days before it */
+    private LocalDateTime anchor = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private int historyDays = 730;
+}
@@ -5,15 +5,30 @@ import com.store.management.api.model.Role;
 import com.store.management.api.model.User;
 import com.store.management.api.repository.ProductRepository;
 import com.store.management.api.repository.UserRepository;
+import com.store.management.api.service.StockLedgerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 
+/**
+ * Seeds the default users and sample products into an empty database.
+ * Turned off with seed-data.enabled=false outside development. With seed-data.deferred=true it runs on
+ * a background thread once the application is ready, so the BCrypt hashing and inserts do not delay startup.
+ * Runs before DataGenerator, so the default users and sample products keep the first IDs.
+ */
 @Component
+@ConditionalOnProperty(name = "seed-data.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE)
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
@@ -21,9 +36,26 @@ public class DataInitializer implements CommandLineRunner {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final PasswordEncoder passwordEncoder;
+    private final StockLedgerService stockLedgerService;
+    
+    @Value("${seed-data.deferred:false}")
+    private boolean deferred;
     
     @Override
     public void run(String... args) {
+        if (!deferred) {
+            seed();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedAfterStartup() {
+        if (deferred) {
+            new Thread(this::seed, "seed-data").start();
+        }
+    }
+    
+    private void seed() {
         initializeUsers();
         initializeProducts();
     }
@@ -174,6 +206,9 @@ public class DataInitializer implements CommandLineRunner {
                 .build();
             productRepository.save(runningShoes);
             
+            // Opening stock goes into the ledger as each product's first movement
+            productRepository.findAll().forEach(stockLedgerService::recordOpeningBalance);
+            
             log.info("Sample products created successfully");
         }
     }
@@ -0,0 +1,49 @@
+package com.store.management.api.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit ratios of the Hibernate second-level and query caches.
+ * Hibernate's own meters publish hit and miss counts per region; these gauges add the ratio,
+ * which is what cache sizes are tuned against. A ratio is NaN until its cache has been asked.
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics,
+                    stats -> regionHitRatio(stats.getDomainDataRegionStatistics(region)))
+                .tag("region", region)
+                .description("Share of second-level cache lookups in the region that were hits")
+                .register(registry);
+        }
+        Gauge.builder("hibernate.query.cache.hit.ratio", statistics,
+                stats -> ratio(stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount()))
+            .description("Share of cacheable query executions answered from the query cache")
+            .register(registry);
+    }
+
+    private static double regionHitRatio(CacheRegionStatistics region) {
+        return region == null ? Double.NaN : ratio(region.getHitCount(), region.getMissCount());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+}
@@ -0,0 +1,91 @@
+package com.store.management.api.config;
+
+import com.store.management.api.dto.ProductChange;
+import com.store.management.api.event.OutboxMessage;
+import com.store.management.api.exception.ErrorResponse;
+import com.store.management.api.model.Product;
+import com.store.management.api.model.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reflection, proxy and resource hints for the native image (mvn -Pnative verify).
+ * Spring AOT already covers beans, controllers, the security filter chain, entities and declared
+ * repository return types; this adds what it cannot see: classes jjwt and the JCache provider load
+ * by name, and types written with ObjectMapper outside of a controller. Lombok only generates
+ * source, so it needs nothing at run time.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+@RegisterReflectionForBinding({ProductChange.class, OutboxMessage.class, ErrorResponse.class})
+public class NativeImageConfig {
+
+    /** jjwt-api instantiates its implementation reflectively from these names */
+    static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+        "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+        "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+        "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+        "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+        "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+        "io.jsonwebtoken.impl.security.JwksBridge",
+        "io.jsonwebtoken.impl.security.KeysBridge",
+        "io.jsonwebtoken.impl.security.StandardCurves",
+        "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardKeyOperations",
+        "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms");
+
+    /** Service providers jjwt and Hibernate look up with ServiceLoader or by class name */
+    static final List<String> SERVICE_PROVIDERS = List.of(
+        "io.jsonwebtoken.jackson.io.JacksonSerializer",
+        "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "com.store.management.api.config.ProductStockGuard");
+
+    static final List<String> RESOURCES = List.of(
+        "META-INF/services/io.jsonwebtoken.io.Serializer",
+        "META-INF/services/io.jsonwebtoken.io.Deserializer",
+        "META-INF/services/io.jsonwebtoken.CompressionCodec",
+        "META-INF/services/javax.cache.spi.CachingProvider",
+        "hibernate-cache.conf",
+        "reference.conf");
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> entity : List.of(Product.class, User.class)) {
+                hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+
+            for (String type : JJWT_IMPLEMENTATIONS) {
+                hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+            }
+            for (String type : SERVICE_PROVIDERS) {
+                hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            RESOURCES.forEach(hints.resources()::registerPattern);
+        }
+    }
+}
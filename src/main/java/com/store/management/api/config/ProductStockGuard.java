@@ -0,0 +1,36 @@
+package com.store.management.api.config;
+
+import com.store.management.api.model.Product;
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Refuses to flush a product whose stock changed without a new ledger version.
+ * Product.applyStockMovement bumps stockVersion with every change, so a stock quantity written any
+ * other way, such as a detached copy built with toBuilder and saved, fails at flush instead of
+ * silently drifting from the ledger. Registered for the whole session factory in application.properties.
+ */
+public class ProductStockGuard implements Interceptor {
+
+    @Override
+    public boolean onFlushDirty(Object entity, Object id, Object[] currentState, Object[] previousState,
+                                String[] propertyNames, Type[] types) {
+        if (!(entity instanceof Product) || previousState == null) {
+            return false;
+        }
+        List<String> names = Arrays.asList(propertyNames);
+        int quantity = names.indexOf("stockQuantity");
+        int version = names.indexOf("stockVersion");
+        long previousVersion = (Long) previousState[version];
+        long currentVersion = (Long) currentState[version];
+        boolean quantityChanged = !Objects.equals(previousState[quantity], currentState[quantity]);
+        if (currentVersion < previousVersion || (quantityChanged && currentVersion == previousVersion)) {
+            throw new IllegalStateException("Stock of product " + id + " can only change through the stock ledger");
+        }
+        return false;
+    }
+}
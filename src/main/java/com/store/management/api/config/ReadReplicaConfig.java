@@ -0,0 +1,78 @@
+package com.store.management.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write splitting: read-only transactions go to replica pools, writes to the primary.
+ * Off unless datasource.routing.enabled is true, in which case Boot's single pool backs off.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReadReplicaConfig {
+    
+    // The pools are not beans themselves, so they are closed here
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties primaryProperties,
+                                 ReplicaRoutingProperties routingProperties,
+                                 MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        primary.setMetricsTrackerFactory(metricsTrackerFactory);
+        pools.add(primary);
+        
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+        List<String> replicaKeys = new ArrayList<>();
+        for (ReplicaRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+            String key = "replica-" + replicaKeys.size();
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(key);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(metricsTrackerFactory);
+            pools.add(pool);
+            targets.put(key, pool);
+            replicaKeys.add(key);
+        }
+        
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+            replicaKeys, routingProperties.getStickinessMs(), meterRegistry);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    @PreDestroy
+    public void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,98 @@
+package com.store.management.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends read-only transactions to the replicas in round-robin order and everything else to the
+ * primary. After a user starts a read-write transaction, that user's reads stay on the primary
+ * for the stickiness window so they see their own writes despite replication lag. Expired users
+ * are swept out on the write path at most once per window, so the table only holds users who
+ * wrote within about the last two windows.
+ * Must sit behind a LazyConnectionDataSourceProxy so the route is chosen after the
+ * transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    static final String PRIMARY = "primary";
+    
+    private static final String METRIC_NAME = "datasource.routing.connections";
+    
+    private final List<String> replicaKeys;
+    private final long stickinessNanos;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final AtomicLong nextSweep;
+    private final ConcurrentMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    
+    public ReadWriteRoutingDataSource(List<String> replicaKeys, long stickinessMs, MeterRegistry meterRegistry) {
+        this.replicaKeys = List.copyOf(replicaKeys);
+        this.stickinessNanos = TimeUnit.MILLISECONDS.toNanos(stickinessMs);
+        this.nextSweep = new AtomicLong(System.nanoTime() + stickinessNanos);
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String key = route();
+        counters.computeIfAbsent(key, target -> meterRegistry.counter(METRIC_NAME, "target", target)).increment();
+        return key;
+    }
+    
+    private String route() {
+        String user = currentUser();
+        long now = System.nanoTime();
+        
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicaKeys.isEmpty()) {
+            if (user != null && stickinessNanos > 0) {
+                stickyUntil.put(user, now + stickinessNanos);
+                sweepExpired(now);
+            }
+            return PRIMARY;
+        }
+        
+        if (user != null) {
+            Long until = stickyUntil.get(user);
+            if (until != null) {
+                if (until - now > 0) {
+                    return PRIMARY;
+                }
+                stickyUntil.remove(user, until);
+            }
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+    
+    /**
+     * Drops users whose window has passed; one caller per window does the sweep
+     * @param now Current System.nanoTime()
+     */
+    private void sweepExpired(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + stickinessNanos)) {
+            return;
+        }
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+    
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+    
+    int stickyUserCount() {
+        return stickyUntil.size();
+    }
+}
@@ -0,0 +1,34 @@
+package com.store.management.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas used when datasource.routing.enabled is true; the primary stays spring.datasource.*
+ */
+@ConfigurationProperties(prefix = "datasource.routing")
+@Data
+public class ReplicaRoutingProperties {
+    
+    private boolean enabled;
+    
+    /** How long a user's reads stay on the primary after that user wrote, to read their own writes */
+    private long stickinessMs = 5_000;
+    
+    private List<Replica> replicas = new ArrayList<>();
+    
+    @Data
+    public static class Replica {
+        
+        private String url;
+        
+        private String username;
+        
+        private String password;
+        
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,192 @@
+package com.store.management.api.config;
+
+import com.store.management.api.model.Product;
+import com.store.management.api.model.Role;
+import com.store.management.api.model.User;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic products and users for DataGenerator.
+ * Each row depends only on the seed and its own index, so any number of threads can generate rows in
+ * any order and the same seed always gives the same catalog. Categories and brands follow a Zipf
+ * popularity curve, prices are log-normal around a median per category, and stock is Zipf-skewed
+ * towards small quantities with a share of products out of stock.
+ */
+class SyntheticCatalog {
+
+    static final int BRANDS_PER_CATEGORY = 40;
+    static final int MAX_STOCK = 1_000;
+    static final double OUT_OF_STOCK_SHARE = 0.06;
+    static final double INACTIVE_SHARE = 0.02;
+    static final double ADMIN_SHARE = 0.01;
+    static final double MANAGER_SHARE = 0.09;
+
+    private static final double PRICE_SIGMA = 0.6;
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    // In order of popularity, with the median price of each
+    private static final List<Category> CATEGORIES = List.of(
+        new Category("Electronics", 249, "Headphones", "Monitor", "Tablet", "Speaker", "Camera", "Router"),
+        new Category("Clothing", 35, "Jacket", "T-Shirt", "Hoodie", "Jeans", "Dress", "Sweater"),
+        new Category("Home & Kitchen", 60, "Blender", "Cookware Set", "Kettle", "Knife Block", "Toaster"),
+        new Category("Books", 18, "Novel", "Cookbook", "Atlas", "Biography", "Textbook"),
+        new Category("Sports", 45, "Yoga Mat", "Dumbbell", "Tennis Racket", "Football", "Bike Helmet"),
+        new Category("Beauty", 22, "Face Cream", "Shampoo", "Perfume", "Lipstick", "Hair Dryer"),
+        new Category("Toys", 25, "Building Set", "Puzzle", "Board Game", "Doll", "Toy Car"),
+        new Category("Grocery", 8, "Coffee Beans", "Olive Oil", "Green Tea", "Pasta", "Dark Chocolate"),
+        new Category("Shoes", 80, "Running Shoe", "Boot", "Sneaker", "Sandal", "Loafer"),
+        new Category("Health", 20, "Vitamin D", "Protein Powder", "First Aid Kit", "Thermometer"),
+        new Category("Automotive", 70, "Car Charger", "Dash Cam", "Floor Mat", "Tire Inflator"),
+        new Category("Garden", 40, "Hose", "Pruner", "Planter", "Lawn Sprinkler", "Seed Kit"),
+        new Category("Office", 15, "Notebook", "Desk Lamp", "Stapler", "Pen Set", "Organizer"),
+        new Category("Pet Supplies", 20, "Dog Bed", "Cat Tree", "Leash", "Pet Fountain", "Chew Toy"),
+        new Category("Tools", 55, "Drill", "Screwdriver Set", "Socket Wrench", "Tape Measure", "Saw"),
+        new Category("Furniture", 300, "Office Chair", "Bookshelf", "Side Table", "Sofa", "Bed Frame"),
+        new Category("Baby", 28, "Stroller", "Baby Monitor", "Bottle Set", "Play Mat", "High Chair"),
+        new Category("Music", 30, "Guitar Strings", "Ukulele", "Keyboard Stand", "Microphone"),
+        new Category("Jewelry", 120, "Necklace", "Ring", "Bracelet", "Earrings", "Watch"),
+        new Category("Movies", 15, "Blu-ray Box Set", "Documentary", "Classic Film", "Anime Series"));
+
+    private static final String[] BRAND_PREFIXES = {
+        "Nor", "Vel", "Astra", "Kin", "Lum", "Oro", "Pax", "Quin", "Ro", "Sol",
+        "Tera", "Ul", "Vita", "Wex", "Zen", "Bri", "Cor", "Dyn", "Eko", "Fal"};
+    private static final String[] BRAND_SUFFIXES = {
+        "tek", "ora", "vex", "line", "mark", "well", "craft", "nova", "wave", "works"};
+    private static final String[] ADJECTIVES = {
+        "Classic", "Compact", "Deluxe", "Essential", "Lightweight", "Premium", "Pro", "Smart",
+        "Ultra", "Eco", "Portable", "Advanced", "Everyday", "Signature", "Studio", "Travel"};
+    private static final String[] FIRST_NAMES = {
+        "Alex", "Sam", "Jordan", "Taylor", "Morgan", "Casey", "Riley", "Jamie", "Avery", "Quinn",
+        "Maria", "Li", "Ahmed", "Priya", "Noah", "Emma", "Lucas", "Sofia", "Kenji", "Amara"};
+    private static final String[] LAST_NAMES = {
+        "Smith", "Garcia", "Chen", "Kumar", "Muller", "Rossi", "Silva", "Kim", "Nguyen", "Cohen",
+        "Novak", "Okafor", "Jensen", "Dubois", "Tanaka", "Lopez", "Ivanova", "Brown", "Haddad", "Wilson"};
+
+    private final LocalDateTime anchor;
+    private final long historySeconds;
+    private final long productSeed;
+    private final long userSeed;
+    private final Zipf categories = new Zipf(CATEGORIES.size(), 1.0);
+    private final Zipf brands = new Zipf(BRANDS_PER_CATEGORY, 1.1);
+    private final Zipf stock = new Zipf(MAX_STOCK, 1.2);
+
+    SyntheticCatalog(long seed, LocalDateTime anchor, int historyDays) {
+        this.anchor = anchor;
+        this.historySeconds = Duration.ofDays(historyDays).toSeconds();
+        this.productSeed = mix(seed);
+        this.userSeed = mix(~seed);
+    }
+
+    /**
+     * Generates one product; stocked products have stock version 1, their opening balance
+     * @param index Row index, from 0
+     * @param id Product ID
+     * @return Product that has not been saved
+     */
+    Product product(long index, long id) {
+        SplittableRandom random = new SplittableRandom(mix(productSeed + index));
+        int categoryRank = categories.sample(random);
+        Category category = CATEGORIES.get(categoryRank);
+        String brand = brand(categoryRank, brands.sample(random));
+        String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+        String noun = category.nouns()[random.nextInt(category.nouns().length)];
+        String model = (char) ('A' + random.nextInt(26)) + String.valueOf(100 + random.nextInt(900));
+        BigDecimal price = price(category.medianPrice(), random);
+        int stockQuantity = random.nextDouble() < OUT_OF_STOCK_SHARE ? 0 : stock.sample(random) + 1;
+        boolean active = random.nextDouble() >= INACTIVE_SHARE;
+        LocalDateTime createdAt = anchor.minusSeconds(random.nextLong(historySeconds));
+        LocalDateTime updatedAt = createdAt.plusSeconds(random.nextLong(Duration.between(createdAt, anchor).toSeconds() + 1));
+
+        return Product.builder()
+            .id(id)
+            .name(brand + " " + adjective + " " + noun + " " + model)
+            .description(adjective + " " + noun.toLowerCase() + " by " + brand + " from the " + category.name() + " range")
+            .price(price)
+            .category(category.name())
+            .brand(brand)
+            .stockQuantity(stockQuantity)
+            .stockVersion(stockQuantity > 0 ? 1L : 0L)
+            .active(active)
+            .createdAt(createdAt)
+            .updatedAt(updatedAt)
+            .build();
+    }
+
+    /**
+     * Generates one user; usernames start with the role, as in manager-0000042
+     * @param index Row index, from 0
+     * @param id User ID
+     * @param passwordHash Encoded password shared by all generated users
+     * @return User that has not been saved
+     */
+    User user(long index, long id, String passwordHash) {
+        SplittableRandom random = new SplittableRandom(mix(userSeed + index));
+        double draw = random.nextDouble();
+        Role role = draw < ADMIN_SHARE ? Role.ADMIN
+            : draw < ADMIN_SHARE + MANAGER_SHARE ? Role.MANAGER
+            : Role.USER;
+        String username = String.format("%s-%07d", role.name().toLowerCase(), index + 1);
+        LocalDateTime createdAt = anchor.minusSeconds(random.nextLong(historySeconds));
+
+        return User.builder()
+            .id(id)
+            .username(username)
+            .email(username + "@example.com")
+            .password(passwordHash)
+            .firstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+            .lastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+            .role(role)
+            .createdAt(createdAt)
+            .updatedAt(createdAt)
+            .build();
+    }
+
+    private static String brand(int categoryRank, int brandRank) {
+        return BRAND_PREFIXES[brandRank % BRAND_PREFIXES.length]
+            + BRAND_SUFFIXES[(brandRank / BRAND_PREFIXES.length + categoryRank) % BRAND_SUFFIXES.length];
+    }
+
+    private static BigDecimal price(double median, SplittableRandom random) {
+        double price = median * Math.exp(PRICE_SIGMA * random.nextGaussian());
+        // Whole amounts less a cent, as shelf prices usually are
+        return BigDecimal.valueOf(Math.max(1, Math.min(Math.round(price), 99_999))).subtract(CENT);
+    }
+
+    // SplitMix64 finalizer: neighbouring indexes get unrelated random streams
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record Category(String name, double medianPrice, String... nouns) {}
+
+    /** Ranks 0 to n - 1 with probability proportional to 1 / (rank + 1)^exponent */
+    static final class Zipf {
+
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cumulative[rank] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(rank >= 0 ? rank + 1 : -rank - 1, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.store.management.api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary wire format for service-to-service calls.
+ * Clients sending "Accept: application/cbor" get the same schema as JSON in CBOR encoding.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    /**
+     * CBOR converter built from the application's Jackson builder so that
+     * spring.jackson.* settings (dates, unknown properties) apply to both formats
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(
+            objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
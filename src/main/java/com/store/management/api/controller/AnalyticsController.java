@@ -0,0 +1,54 @@
+package com.store.management.api.controller;
+
+import com.store.management.api.dto.CatalogAnalyticsResponse;
+import com.store.management.api.model.Role;
+import com.store.management.api.security.AllowedRoles;
+import com.store.management.api.service.ProductAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsController {
+
+    private final ProductAnalyticsService productAnalyticsService;
+
+    @GetMapping("/catalog")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<CatalogAnalyticsResponse> getCatalogAnalytics() {
+        log.info("Request for catalog analytics");
+
+        CatalogAnalyticsResponse response = productAnalyticsService.getCatalogAnalytics();
+
+        log.info("Computed catalog analytics over {} products", response.productCount());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/stock-below")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<Long>> findProductIdsWithStockBelow(
+            @RequestParam(defaultValue = "10") Integer threshold) {
+        log.info("Request for product IDs with stock below: {}", threshold);
+
+        List<Long> response = productAnalyticsService.findProductIdsWithStockBelow(threshold);
+
+        log.info("Found {} products with stock below {}", response.size(), threshold);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/refresh")
+    @AllowedRoles(Role.ADMIN)
+    public ResponseEntity<Void> refresh() {
+        log.info("Request to refresh analytics snapshot");
+
+        productAnalyticsService.refresh();
+
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,6 +2,7 @@ package com.store.management.api.controller;
 
 import com.store.management.api.dto.AuthResponse;
 import com.store.management.api.dto.LoginRequest;
+import com.store.management.api.dto.RefreshTokenRequest;
 import com.store.management.api.service.AuthenticationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -27,9 +28,24 @@ public class AuthController {
         return ResponseEntity.ok(authResponse);
     }
     
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        log.info("Token refresh request received");
+        
+        AuthResponse authResponse = authenticationService.refresh(refreshRequest);
+        
+        log.info("Refreshed tokens for user {}", authResponse.username());
+        return ResponseEntity.ok(authResponse);
+    }
+    
     @PostMapping("/logout")
-    public ResponseEntity<String> logout() {
+    public ResponseEntity<String> logout(@Valid @RequestBody(required = false) RefreshTokenRequest logoutRequest) {
         log.info("Logout request received");
+        
+        if (logoutRequest != null) {
+            authenticationService.logout(logoutRequest);
+        }
+        
         return ResponseEntity.ok("Logout successful. Please discard your token.");
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.store.management.api.controller;
+
+import com.store.management.api.dto.CheckoutRequest;
+import com.store.management.api.dto.OrderResponse;
+import com.store.management.api.model.Role;
+import com.store.management.api.security.AllowedRoles;
+import com.store.management.api.service.OrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderController {
+    
+    private final OrderService orderService;
+    
+    @PostMapping
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<OrderResponse> placeOrder(@Valid @RequestBody CheckoutRequest request, Principal principal) {
+        log.info("Request to place order with {} lines for user: {}", request.lines().size(), principal.getName());
+        
+        OrderResponse response = orderService.placeOrder(principal.getName(), request);
+        
+        log.info("Successfully placed order with ID: {}", response.id());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    @GetMapping("/{orderId}")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<OrderResponse> findOrder(@PathVariable Long orderId) {
+        log.info("Request to find order with ID: {}", orderId);
+        
+        OrderResponse response = orderService.findOrder(orderId);
+        
+        log.info("Successfully found order with ID: {}", orderId);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,22 +1,34 @@
 package com.store.management.api.controller;
 
+import com.store.management.api.dto.BatchGetRequest;
+import com.store.management.api.dto.BatchGetResponse;
+import com.store.management.api.dto.ChangeFeedResponse;
 import com.store.management.api.dto.CreateProductRequest;
+import com.store.management.api.dto.FacetSearchRequest;
+import com.store.management.api.dto.FacetSearchResponse;
+import com.store.management.api.dto.PriceBucket;
+import com.store.management.api.dto.ProductField;
 import com.store.management.api.dto.ProductResponse;
 import com.store.management.api.dto.UpdatePriceRequest;
+import com.store.management.api.model.Role;
+import com.store.management.api.security.AllowedRoles;
 import com.store.management.api.service.ProductService;
+import com.store.management.api.service.RequestCoalescer;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
@@ -25,9 +37,10 @@ import java.util.List;
 public class ProductController {
     
     private final ProductService productService;
+    private final RequestCoalescer requestCoalescer;
     
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
     public ResponseEntity<ProductResponse> addProduct(@Valid @RequestBody CreateProductRequest request) {
         log.info("Request to add new product: {}", request.name());
         
@@ -38,18 +51,41 @@ public class ProductController {
     }
     
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MANAGER')")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
     public ResponseEntity<ProductResponse> findProduct(@PathVariable Long id) {
         log.info("Request to find product with ID: {}", id);
         
-        ProductResponse response = productService.findProduct(id);
+        ProductResponse response = requestCoalescer.execute(
+            "product:" + id, () -> productService.findProduct(id));
         
         log.info("Successfully found product: {}", response.name());
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping(params = "ids")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<BatchGetResponse> findProductsByIds(@RequestParam List<Long> ids) {
+        log.info("Request to find {} products by ID", ids.size());
+        
+        BatchGetResponse response = productService.findProducts(ids);
+        
+        log.info("Found {} products, {} missing", response.products().size(), response.missingIds().size());
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/batch-get")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<BatchGetResponse> batchGetProducts(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Request to batch-get {} products", request.ids().size());
+        
+        BatchGetResponse response = productService.findProducts(request.ids());
+        
+        log.info("Found {} products, {} missing", response.products().size(), response.missingIds().size());
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping
-    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MANAGER')")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
     public ResponseEntity<Page<ProductResponse>> getAllProducts(
             @PageableDefault(size = 20, sort = "name") Pageable pageable) {
         log.info("Request to get all products with pagination: {}", pageable);
@@ -60,8 +96,46 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping(params = "fields")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<Page<Map<String, Object>>> getAllProducts(
+            @RequestParam String fields,
+            @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        log.info("Request to get all products with pagination: {} and fields: {}", pageable, fields);
+        
+        Page<Map<String, Object>> response = productService.getAllProducts(pageable, ProductField.parse(fields));
+        
+        log.info("Successfully retrieved {} products", response.getNumberOfElements());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping(value = "/search", params = "fields")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<Map<String, Object>>> searchProductsByName(@RequestParam String name,
+            @RequestParam String fields) {
+        log.info("Request to search products by name: {} with fields: {}", name, fields);
+        
+        List<Map<String, Object>> response = productService.findProductsByName(name, ProductField.parse(fields));
+        
+        log.info("Found {} products matching name: {}", response.size(), name);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping(value = "/category/{category}", params = "fields")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<Map<String, Object>>> findProductsByCategory(@PathVariable String category,
+            @RequestParam String fields) {
+        log.info("Request to find products by category: {} with fields: {}", category, fields);
+        
+        List<Map<String, Object>> response = productService.findProductsByCategory(
+            category, ProductField.parse(fields));
+        
+        log.info("Found {} products in category: {}", response.size(), category);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/search")
-    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MANAGER')")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
     public ResponseEntity<List<ProductResponse>> searchProductsByName(@RequestParam String name) {
         log.info("Request to search products by name: {}", name);
         
@@ -72,18 +146,19 @@ public class ProductController {
     }
     
     @GetMapping("/category/{category}")
-    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MANAGER')")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
     public ResponseEntity<List<ProductResponse>> findProductsByCategory(@PathVariable String category) {
         log.info("Request to find products by category: {}", category);
         
-        List<ProductResponse> response = productService.findProductsByCategory(category);
+        List<ProductResponse> response = requestCoalescer.execute(
+            "category:" + category, () -> productService.findProductsByCategory(category));
         
         log.info("Found {} products in category: {}", response.size(), category);
         return ResponseEntity.ok(response);
     }
     
     @PutMapping("/{id}/price")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
     public ResponseEntity<ProductResponse> changePrice(@PathVariable Long id,
             @Valid @RequestBody UpdatePriceRequest request) {
         log.info("Request to change price for product ID: {} to {}", id, request.newPrice());
@@ -95,7 +170,7 @@ public class ProductController {
     }
     
     @PutMapping("/{id}/stock")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
     public ResponseEntity<ProductResponse> updateStock(@PathVariable Long id, @RequestParam Integer quantity) {
         log.info("Request to update stock for product ID: {} to {}", id, quantity);
         
@@ -106,7 +181,7 @@ public class ProductController {
     }
     
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @AllowedRoles(Role.ADMIN)
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         log.info("Request to delete product with ID: {}", id);
         
@@ -117,7 +192,7 @@ public class ProductController {
     }
     
     @GetMapping("/price-range")
-    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MANAGER')")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
     public ResponseEntity<List<ProductResponse>> findProductsByPriceRange(
             @RequestParam BigDecimal minPrice, @RequestParam BigDecimal maxPrice) {
         log.info("Request to find products in price range: {} - {}", minPrice, maxPrice);
@@ -128,8 +203,78 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/price-range/page")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<Page<ProductResponse>> findProductsByPriceRangePaged(
+            @RequestParam BigDecimal minPrice, @RequestParam BigDecimal maxPrice,
+            @PageableDefault(size = 20) Pageable pageable) {
+        log.info("Request to find products in price range: {} - {} with pagination: {}",
+            minPrice, maxPrice, pageable);
+        
+        Page<ProductResponse> response = productService.findProductsByPriceRange(minPrice, maxPrice, pageable);
+        
+        log.info("Found {} of {} products in price range", response.getNumberOfElements(), response.getTotalElements());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/price-range/count")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<Long> countProductsByPriceRange(
+            @RequestParam BigDecimal minPrice, @RequestParam BigDecimal maxPrice) {
+        log.info("Request to count products in price range: {} - {}", minPrice, maxPrice);
+        
+        long count = productService.countProductsByPriceRange(minPrice, maxPrice);
+        
+        log.info("Counted {} products in price range", count);
+        return ResponseEntity.ok(count);
+    }
+    
+    @GetMapping("/price-range/histogram")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<PriceBucket>> getPriceHistogram(
+            @RequestParam BigDecimal minPrice, @RequestParam BigDecimal maxPrice,
+            @RequestParam(defaultValue = "10") Integer buckets) {
+        log.info("Request for price histogram: {} - {} with {} buckets", minPrice, maxPrice, buckets);
+        
+        List<PriceBucket> response = productService.getPriceHistogram(minPrice, maxPrice, buckets);
+        
+        log.info("Built price histogram with {} buckets", response.size());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/changed-since")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<ChangeFeedResponse> findChangesSince(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ts,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") Integer limit) {
+        log.info("Request for product changes since: {} cursor: {} limit: {}", ts, cursor, limit);
+        
+        ChangeFeedResponse response = productService.findChangesSince(ts, cursor, limit);
+        
+        log.info("Found {} product changes", response.changes().size());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/facets")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<FacetSearchResponse> searchFacets(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> brand,
+            @RequestParam(required = false) List<String> priceBand,
+            @RequestParam(required = false) Boolean inStock,
+            @PageableDefault(size = 50) Pageable pageable) {
+        FacetSearchRequest request = new FacetSearchRequest(category, brand, priceBand, inStock);
+        log.info("Request for faceted search: {}", request);
+        
+        FacetSearchResponse response = productService.searchFacets(request, pageable);
+        
+        log.info("Faceted search matched {} products", response.total());
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/low-stock")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
     public ResponseEntity<List<ProductResponse>> findLowStockProducts(
             @RequestParam(defaultValue = "10") Integer threshold) {
         log.info("Request to find products with stock below: {}", threshold);
@@ -0,0 +1,75 @@
+package com.store.management.api.controller;
+
+import com.store.management.api.dto.StockMovementBatchRequest;
+import com.store.management.api.dto.StockMovementResponse;
+import com.store.management.api.dto.StockReconciliation;
+import com.store.management.api.model.MovementType;
+import com.store.management.api.model.Role;
+import com.store.management.api.security.AllowedRoles;
+import com.store.management.api.service.StockLedgerService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stock")
+@RequiredArgsConstructor
+@Slf4j
+public class StockController {
+    
+    private final StockLedgerService stockLedgerService;
+    
+    @PostMapping("/movements")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<StockMovementResponse>> recordMovements(
+            @Valid @RequestBody StockMovementBatchRequest request) {
+        log.info("Request to record {} stock movements", request.movements().size());
+        
+        List<StockMovementResponse> response = stockLedgerService.recordAll(request.movements());
+        
+        log.info("Successfully recorded {} stock movements", response.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    @PostMapping("/{productId}/movements")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<StockMovementResponse> recordMovement(@PathVariable Long productId,
+            @RequestParam MovementType type, @RequestParam Integer quantity,
+            @RequestParam(required = false) String reference) {
+        log.info("Request to record {} of {} for product ID: {}", type, quantity, productId);
+        
+        StockMovementResponse response = stockLedgerService.record(productId, type, quantity, reference);
+        
+        log.info("Recorded stock movement version {} for product ID: {}", response.version(), productId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    @GetMapping("/{productId}/movements")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<StockMovementResponse>> findMovements(@PathVariable Long productId,
+            @RequestParam(defaultValue = "0") Long afterVersion,
+            @RequestParam(defaultValue = "100") Integer limit) {
+        log.info("Request for stock movements of product ID: {} after version: {}", productId, afterVersion);
+        
+        List<StockMovementResponse> response = stockLedgerService.findMovements(productId, afterVersion, limit);
+        
+        log.info("Found {} stock movements for product ID: {}", response.size(), productId);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/{productId}/reconciliation")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<StockReconciliation> reconcile(@PathVariable Long productId) {
+        log.info("Request to reconcile stock ledger for product ID: {}", productId);
+        
+        StockReconciliation response = stockLedgerService.reconcile(productId);
+        
+        log.info("Stock ledger for product ID: {} is consistent: {}", productId, response.consistent());
+        return ResponseEntity.ok(response);
+    }
+}
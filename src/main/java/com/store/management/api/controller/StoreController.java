@@ -0,0 +1,162 @@
+package com.store.management.api.controller;
+
+import com.store.management.api.dto.CreateStoreRequest;
+import com.store.management.api.dto.ProductStockSummary;
+import com.store.management.api.dto.StoreInventoryResponse;
+import com.store.management.api.dto.StoreResponse;
+import com.store.management.api.dto.StoreStockResponse;
+import com.store.management.api.model.Role;
+import com.store.management.api.security.AllowedRoles;
+import com.store.management.api.service.StoreService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stores")
+@RequiredArgsConstructor
+@Slf4j
+public class StoreController {
+    
+    private final StoreService storeService;
+    
+    @PostMapping
+    @AllowedRoles(Role.ADMIN)
+    public ResponseEntity<StoreResponse> addStore(@Valid @RequestBody CreateStoreRequest request) {
+        log.info("Request to add new store: {}", request.code());
+        
+        StoreResponse response = storeService.addStore(request);
+        
+        log.info("Successfully added store with ID: {}", response.id());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    @GetMapping
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<Page<StoreResponse>> getAllStores(
+            @PageableDefault(size = 20, sort = "code") Pageable pageable) {
+        log.info("Request to get all stores with pagination: {}", pageable);
+        
+        Page<StoreResponse> response = storeService.getAllStores(pageable);
+        
+        log.info("Successfully retrieved {} stores", response.getNumberOfElements());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/{storeId}")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<StoreResponse> findStore(@PathVariable Long storeId) {
+        log.info("Request to find store with ID: {}", storeId);
+        
+        StoreResponse response = storeService.findStore(storeId);
+        
+        log.info("Successfully found store: {}", response.code());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/{storeId}/inventory")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<StoreInventoryResponse>> getStoreInventory(@PathVariable Long storeId,
+            @RequestParam(defaultValue = "0") Long afterProductId,
+            @RequestParam(defaultValue = "100") Integer limit) {
+        log.info("Request for inventory of store ID: {} after product ID: {} limit: {}", storeId, afterProductId, limit);
+        
+        List<StoreInventoryResponse> response = storeService.getStoreInventory(storeId, afterProductId, limit);
+        
+        log.info("Found {} stock rows in store ID: {}", response.size(), storeId);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/{storeId}/inventory/low-stock")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<StoreInventoryResponse>> findLowStock(@PathVariable Long storeId,
+            @RequestParam(defaultValue = "10") Integer threshold,
+            @RequestParam(defaultValue = "100") Integer limit) {
+        log.info("Request to find stock below: {} in store ID: {}", threshold, storeId);
+        
+        List<StoreInventoryResponse> response = storeService.findLowStock(storeId, threshold, limit);
+        
+        log.info("Found {} low stock rows in store ID: {}", response.size(), storeId);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/{storeId}/inventory/{productId}")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<StoreInventoryResponse> findStock(@PathVariable Long storeId, @PathVariable Long productId) {
+        log.info("Request for stock of product ID: {} in store ID: {}", productId, storeId);
+        
+        StoreInventoryResponse response = storeService.findStock(storeId, productId);
+        
+        log.info("Store ID: {} holds {} of product ID: {}", storeId, response.quantity(), productId);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PutMapping("/{storeId}/inventory/{productId}")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<StoreInventoryResponse> updateStock(@PathVariable Long storeId, @PathVariable Long productId,
+            @RequestParam Integer quantity) {
+        log.info("Request to update stock for product ID: {} in store ID: {} to {}", productId, storeId, quantity);
+        
+        StoreInventoryResponse response = storeService.updateStock(storeId, productId, quantity);
+        
+        log.info("Successfully updated stock for product ID: {} in store ID: {}", productId, storeId);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/{storeId}/inventory/{productId}/adjust")
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<StoreInventoryResponse> adjustStock(@PathVariable Long storeId, @PathVariable Long productId,
+            @RequestParam Integer delta) {
+        log.info("Request to adjust stock for product ID: {} in store ID: {} by {}", productId, storeId, delta);
+        
+        StoreInventoryResponse response = storeService.adjustStock(storeId, productId, delta);
+        
+        log.info("Stock for product ID: {} in store ID: {} is now {}", productId, storeId, response.quantity());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/stock/{productId}")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<StoreStockResponse>> findStockAcrossStores(@PathVariable Long productId) {
+        log.info("Request for stock across stores of product ID: {}", productId);
+        
+        List<StoreStockResponse> response = storeService.findStockAcrossStores(productId);
+        
+        log.info("Found stock of product ID: {} in {} stores", productId, response.size());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/stock/{productId}/nearby")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<StoreStockResponse>> findStockNearby(@PathVariable Long productId,
+            @RequestParam Double latitude, @RequestParam Double longitude,
+            @RequestParam(defaultValue = "25") Double radiusKm,
+            @RequestParam(defaultValue = "1") Integer minQuantity) {
+        log.info("Request for stock of product ID: {} within {} km of {}, {}", productId, radiusKm, latitude, longitude);
+        
+        List<StoreStockResponse> response = storeService.findStockNearby(
+            productId, latitude, longitude, radiusKm, minQuantity);
+        
+        log.info("Found {} nearby stores with product ID: {}", response.size(), productId);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/stock/summary")
+    @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+    public ResponseEntity<List<ProductStockSummary>> summarizeStock(@RequestParam List<Long> productIds) {
+        log.info("Request for store stock summary of {} products", productIds.size());
+        
+        List<ProductStockSummary> response = storeService.summarizeStock(productIds);
+        
+        log.info("Summarized store stock of {} products", response.size());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,12 +1,16 @@
 package com.store.management.api.dto;
 
 /**
- * DTO for authentication responses using Java 17+ record feature
+ * DTO for authentication responses using Java 17+ record feature.
+ * token is a short-lived access token; refreshToken is single-use and is exchanged at
+ * /api/auth/refresh for a new pair without sending the password again.
  */
 public record AuthResponse(
         String token,
         String type,
         int expiresIn,
         String username,
-        String role
-) {}
\ No newline at end of file
+        String role,
+        String refreshToken,
+        long refreshExpiresIn
+) {}
@@ -0,0 +1,16 @@
+package com.store.management.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for fetching many products by ID in one call using Java 17+ record feature
+ */
+public record BatchGetRequest(
+        @NotEmpty(message = "At least one product ID is required")
+        @Size(max = 500, message = "Cannot request more than 500 products at once")
+        List<@NotNull(message = "Product ID cannot be null") Long> ids
+) {}
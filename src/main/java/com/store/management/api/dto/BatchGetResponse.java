@@ -0,0 +1,12 @@
+package com.store.management.api.dto;
+
+import java.util.List;
+
+/**
+ * DTO for multi-get responses using Java 17+ record feature.
+ * Products keep the order of the requested IDs; IDs that do not exist are listed in missingIds.
+ */
+public record BatchGetResponse(
+        List<ProductResponse> products,
+        List<Long> missingIds
+) {}
@@ -0,0 +1,17 @@
+package com.store.management.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO for catalog analytics computed from the columnar snapshot using Java 17+ record feature
+ */
+public record CatalogAnalyticsResponse(
+        int productCount,
+        long totalStock,
+        BigDecimal totalStockValue,
+        Map<String, Long> stockByCategory,
+        Map<String, BigDecimal> stockValueByCategory,
+        Instant snapshotTakenAt
+) {}
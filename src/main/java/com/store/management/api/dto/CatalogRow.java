@@ -0,0 +1,17 @@
+package com.store.management.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Closed interface projection with the columns the catalog indexes are built from
+ */
+public interface CatalogRow {
+    Long getId();
+    BigDecimal getPrice();
+    Integer getStockQuantity();
+    String getCategory();
+    String getBrand();
+    LocalDateTime getUpdatedAt();
+    Long getVersion();
+}
@@ -0,0 +1,50 @@
+package com.store.management.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position in the product change feed: the (changedAt, productId) key of the last change seen.
+ * Encoded as an opaque URL-safe string so clients treat it as a token.
+ */
+public record ChangeCursor(
+        LocalDateTime changedAt,
+        Long productId
+) {
+    
+    private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+    
+    /**
+     * Position just after every change at the given time
+     * @param since Watermark
+     * @return Cursor that skips changes at or before the watermark
+     */
+    public static ChangeCursor after(LocalDateTime since) {
+        return new ChangeCursor(since, Long.MAX_VALUE);
+    }
+    
+    public String encode() {
+        String raw = ChronoUnit.MICROS.between(EPOCH, changedAt) + ":" + productId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodes a cursor returned by a previous change feed call
+     * @param cursor Encoded cursor
+     * @return Decoded position
+     */
+    public static ChangeCursor parse(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long micros = Long.parseLong(raw.substring(0, separator));
+            long productId = Long.parseLong(raw.substring(separator + 1));
+            return new ChangeCursor(EPOCH.plus(micros, ChronoUnit.MICROS), productId);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid change feed cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.store.management.api.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a page of the product change feed using Java 17+ record feature.
+ * Pass nextCursor back to resume after the last change; it is returned even when the page is empty.
+ */
+public record ChangeFeedResponse(
+        List<ProductChange> changes,
+        String nextCursor,
+        boolean hasMore
+) {}
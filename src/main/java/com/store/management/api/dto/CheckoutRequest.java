@@ -0,0 +1,17 @@
+package com.store.management.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for placing an order from a cart using Java 17+ record feature
+ */
+public record CheckoutRequest(
+        @NotEmpty(message = "At least one line is required")
+        @Size(max = 200, message = "Cannot order more than 200 lines at once")
+        List<@Valid @NotNull(message = "Line cannot be null") OrderLineRequest> lines
+) {}
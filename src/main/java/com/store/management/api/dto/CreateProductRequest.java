@@ -26,5 +26,8 @@ public record CreateProductRequest(
         
         @NotNull(message = "Stock quantity is required")
         @Min(value = 0, message = "Stock quantity cannot be negative")
-        Integer stockQuantity
+        Integer stockQuantity,
+        
+        @Size(max = 50, message = "Brand cannot exceed 50 characters")
+        String brand
 ) {}
\ No newline at end of file
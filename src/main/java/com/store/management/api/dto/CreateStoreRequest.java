@@ -0,0 +1,29 @@
+package com.store.management.api.dto;
+
+import jakarta.validation.constraints.*;
+
+/**
+ * DTO for creating a new store using Java 17+ record feature
+ */
+public record CreateStoreRequest(
+        @NotBlank(message = "Store code is required")
+        @Size(max = 20, message = "Store code cannot exceed 20 characters")
+        String code,
+        
+        @NotBlank(message = "Store name is required")
+        @Size(min = 2, max = 100, message = "Store name must be between 2 and 100 characters")
+        String name,
+        
+        @Size(max = 50, message = "City cannot exceed 50 characters")
+        String city,
+        
+        @NotNull(message = "Latitude is required")
+        @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+        @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+        Double latitude,
+        
+        @NotNull(message = "Longitude is required")
+        @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+        @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+        Double longitude
+) {}
@@ -0,0 +1,14 @@
+package com.store.management.api.dto;
+
+import java.util.List;
+
+/**
+ * DTO for faceted search filters using Java 17+ record feature.
+ * Values within one facet are OR-ed, facets are AND-ed; null or empty means no filter.
+ */
+public record FacetSearchRequest(
+        List<String> category,
+        List<String> brand,
+        List<String> priceBand,
+        Boolean inStock
+) {}
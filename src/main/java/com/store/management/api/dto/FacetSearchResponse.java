@@ -0,0 +1,14 @@
+package com.store.management.api.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for faceted search results using Java 17+ record feature.
+ * facets maps each facet name to value counts; a facet's counts apply every filter except its own.
+ */
+public record FacetSearchResponse(
+        long total,
+        List<Long> productIds,
+        Map<String, Map<String, Long>> facets
+) {}
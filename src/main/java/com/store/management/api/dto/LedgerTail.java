@@ -0,0 +1,10 @@
+package com.store.management.api.dto;
+
+/**
+ * Closed interface projection of the ledger movements after a version
+ */
+public interface LedgerTail {
+    Long getQuantity();
+    Long getMovements();
+    Long getVersion();
+}
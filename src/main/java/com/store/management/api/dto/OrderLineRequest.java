@@ -0,0 +1,16 @@
+package com.store.management.api.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for one cart line at checkout using Java 17+ record feature
+ */
+public record OrderLineRequest(
+        @NotNull(message = "Product ID is required")
+        Long productId,
+        
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        Integer quantity
+) {}
@@ -0,0 +1,15 @@
+package com.store.management.api.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for order line response using Java 17+ record feature
+ * @param stockVersion Ledger version of the SALE movement that took the stock
+ */
+public record OrderLineResponse(
+        Long productId,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal lineTotal,
+        Long stockVersion
+) {}
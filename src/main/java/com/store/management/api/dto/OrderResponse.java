@@ -0,0 +1,16 @@
+package com.store.management.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for order response using Java 17+ record feature
+ */
+public record OrderResponse(
+        Long id,
+        String username,
+        BigDecimal totalAmount,
+        List<OrderLineResponse> lines,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,13 @@
+package com.store.management.api.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one price histogram bucket using Java 17+ record feature.
+ * Both bounds are inclusive.
+ */
+public record PriceBucket(
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        long count
+) {}
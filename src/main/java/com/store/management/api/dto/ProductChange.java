@@ -0,0 +1,20 @@
+package com.store.management.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of the product change feed using Java 17+ record feature.
+ * product holds the current state for UPSERT entries and is null for DELETE tombstones.
+ */
+public record ProductChange(
+        Long productId,
+        Operation operation,
+        LocalDateTime changedAt,
+        ProductResponse product
+) {
+    
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+}
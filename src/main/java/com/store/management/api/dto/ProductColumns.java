@@ -0,0 +1,13 @@
+package com.store.management.api.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Closed interface projection with only the columns copied into the analytics snapshot
+ */
+public interface ProductColumns {
+    Long getId();
+    BigDecimal getPrice();
+    Integer getStockQuantity();
+    String getCategory();
+}
@@ -0,0 +1,15 @@
+package com.store.management.api.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Closed interface projection with only the columns needed by the facet index
+ */
+public interface ProductFacetValues {
+    Long getId();
+    String getCategory();
+    String getBrand();
+    BigDecimal getPrice();
+    Integer getStockQuantity();
+    Long getVersion();
+}
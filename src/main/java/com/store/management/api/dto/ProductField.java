@@ -0,0 +1,60 @@
+package com.store.management.api.dto;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of ProductResponse that clients can select with the fields= parameter.
+ * Each name is also the Product attribute selected for it, so a query reads only the requested columns.
+ */
+public enum ProductField {
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    PRICE("price"),
+    CATEGORY("category"),
+    STOCK_QUANTITY("stockQuantity"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+    
+    private static final Map<String, ProductField> BY_NAME = Arrays.stream(values())
+        .collect(Collectors.toMap(ProductField::getName, Function.identity()));
+    
+    private final String name;
+    
+    ProductField(String name) {
+        this.name = name;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Parses a comma-separated field list such as "id,name,price"
+     * @param fields Field names as they appear in ProductResponse
+     * @return Selected fields in declaration order
+     */
+    public static Set<ProductField> parse(String fields) {
+        Set<ProductField> selected = EnumSet.noneOf(ProductField.class);
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            ProductField field = BY_NAME.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown product field: " + name);
+            }
+            selected.add(field);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("At least one product field is required");
+        }
+        return selected;
+    }
+}
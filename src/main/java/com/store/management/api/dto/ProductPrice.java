@@ -0,0 +1,12 @@
+package com.store.management.api.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Closed interface projection with only the columns needed by the price index
+ */
+public interface ProductPrice {
+    Long getId();
+    BigDecimal getPrice();
+    Long getVersion();
+}
@@ -0,0 +1,11 @@
+package com.store.management.api.dto;
+
+/**
+ * DTO for a product's stock aggregated over all stores using Java 17+ record feature
+ */
+public record ProductStockSummary(
+        Long productId,
+        Long totalQuantity,
+        Long storeCount,
+        Long storesInStock
+) {}
@@ -0,0 +1,11 @@
+package com.store.management.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO for refresh and logout requests using Java 17+ record feature
+ */
+public record RefreshTokenRequest(
+        @NotBlank(message = "Refresh token is required")
+        String refreshToken
+) {}
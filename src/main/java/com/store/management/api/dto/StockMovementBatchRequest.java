@@ -0,0 +1,17 @@
+package com.store.management.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for appending many stock movements in one transaction using Java 17+ record feature
+ */
+public record StockMovementBatchRequest(
+        @NotEmpty(message = "At least one movement is required")
+        @Size(max = 1000, message = "Cannot append more than 1000 movements at once")
+        List<@Valid @NotNull(message = "Movement cannot be null") StockMovementRequest> movements
+) {}
@@ -0,0 +1,23 @@
+package com.store.management.api.dto;
+
+import com.store.management.api.model.MovementType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for one stock movement to append to the ledger using Java 17+ record feature
+ * @param quantity Positive quantity; signed for adjustments
+ */
+public record StockMovementRequest(
+        @NotNull(message = "Product ID is required")
+        Long productId,
+        
+        @NotNull(message = "Movement type is required")
+        MovementType type,
+        
+        @NotNull(message = "Quantity is required")
+        Integer quantity,
+        
+        @Size(max = 100, message = "Reference cannot exceed 100 characters")
+        String reference
+) {}
@@ -0,0 +1,18 @@
+package com.store.management.api.dto;
+
+import com.store.management.api.model.MovementType;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for stock movement response using Java 17+ record feature
+ */
+public record StockMovementResponse(
+        Long id,
+        Long productId,
+        Long version,
+        MovementType type,
+        Integer quantity,
+        String reference,
+        LocalDateTime createdAt
+) {}
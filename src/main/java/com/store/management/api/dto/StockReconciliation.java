@@ -0,0 +1,18 @@
+package com.store.management.api.dto;
+
+/**
+ * DTO comparing a product's stock rebuilt from the ledger with its stored value using Java 17+ record feature
+ * @param snapshotVersion Version of the snapshot the rebuild started from, 0 if none
+ * @param replayedMovements Movements replayed on top of the snapshot
+ * @param ledgerQuantity Stock rebuilt from the snapshot and the replayed movements
+ * @param projectedQuantity Stock stored on the product
+ */
+public record StockReconciliation(
+        Long productId,
+        Long snapshotVersion,
+        Long replayedMovements,
+        Long ledgerVersion,
+        Long ledgerQuantity,
+        Integer projectedQuantity,
+        boolean consistent
+) {}
@@ -0,0 +1,11 @@
+package com.store.management.api.dto;
+
+/**
+ * DTO for a cart line that cannot be filled using Java 17+ record feature
+ * @param available Stock on hand, 0 for inactive products
+ */
+public record StockShortage(
+        Long productId,
+        Integer requested,
+        Integer available
+) {}
@@ -0,0 +1,11 @@
+package com.store.management.api.dto;
+
+/**
+ * Closed interface projection of a product's stock summed over all stores
+ */
+public interface StockSummaryRow {
+    Long getProductId();
+    Long getTotalQuantity();
+    Long getStoreCount();
+    Long getStoresInStock();
+}
@@ -0,0 +1,13 @@
+package com.store.management.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one stock row of a store using Java 17+ record feature
+ */
+public record StoreInventoryResponse(
+        Long storeId,
+        Long productId,
+        Integer quantity,
+        LocalDateTime updatedAt
+) {}
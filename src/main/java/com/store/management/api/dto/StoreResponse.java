@@ -0,0 +1,16 @@
+package com.store.management.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for store response using Java 17+ record feature
+ */
+public record StoreResponse(
+        Long id,
+        String code,
+        String name,
+        String city,
+        Double latitude,
+        Double longitude,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,16 @@
+package com.store.management.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a product's stock at one store using Java 17+ record feature
+ * @param distanceKm Distance from the searched location, or null when no location was given
+ */
+public record StoreStockResponse(
+        Long storeId,
+        String storeCode,
+        String storeName,
+        Integer quantity,
+        Double distanceKm,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,16 @@
+package com.store.management.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed interface projection of a product's stock at one store, with the store's location
+ */
+public interface StoreStockRow {
+    Long getStoreId();
+    String getStoreCode();
+    String getStoreName();
+    Double getLatitude();
+    Double getLongitude();
+    Integer getQuantity();
+    LocalDateTime getUpdatedAt();
+}
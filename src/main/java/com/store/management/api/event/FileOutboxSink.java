@@ -0,0 +1,61 @@
+package com.store.management.api.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends outbox messages to a JSON Lines file, one line per message.
+ * Each batch is written with one append and forced to disk before it counts as delivered.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sinks.file.enabled", havingValue = "true")
+public class FileOutboxSink implements OutboxSink {
+    
+    private final ObjectWriter objectWriter;
+    private final Path path;
+    
+    public FileOutboxSink(ObjectMapper objectMapper,
+                          @Value("${outbox.sinks.file.path:data/outbox.jsonl}") Path path) {
+        this.objectWriter = objectMapper.writer();
+        this.path = path;
+    }
+    
+    @Override
+    public String getName() {
+        return "file";
+    }
+    
+    @Override
+    public void deliver(List<OutboxMessage> messages) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OutboxMessage message : messages) {
+            lines.write(objectWriter.writeValueAsBytes(message));
+            lines.write('\n');
+        }
+        
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.store.management.api.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch of outbox messages as a JSON array to a webhook.
+ * Any response other than 2xx, or a timeout, counts as a failed delivery.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sinks.http.enabled", havingValue = "true")
+public class HttpOutboxSink implements OutboxSink {
+    
+    private final ObjectWriter objectWriter;
+    private final URI url;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    
+    public HttpOutboxSink(ObjectMapper objectMapper,
+                          @Value("${outbox.sinks.http.url}") URI url,
+                          @Value("${outbox.sinks.http.timeout-ms:5000}") long timeoutMs) {
+        this.objectWriter = objectMapper.writer();
+        this.url = url;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+    
+    @Override
+    public String getName() {
+        return "http";
+    }
+    
+    @Override
+    public void deliver(List<OutboxMessage> messages) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectWriter.writeValueAsBytes(messages)))
+            .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + url + " answered HTTP " + response.statusCode());
+        }
+    }
+}
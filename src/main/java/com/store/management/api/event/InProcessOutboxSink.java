@@ -0,0 +1,30 @@
+package com.store.management.api.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes outbox messages as application events for @EventListener methods taking an OutboxMessage.
+ * A listener that throws gets the message again on the next relay run.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sinks.in-process.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InProcessOutboxSink implements OutboxSink {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Override
+    public String getName() {
+        return "in-process";
+    }
+    
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,18 @@
+package com.store.management.api.event;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry as handed to sinks. In-process sinks publish it as an application event.
+ * @param id Outbox ID; increases with each event of a product, and sinks may see an ID more than once
+ * @param payload JSON of the ProductChange, embedded as-is when serialized
+ */
+public record OutboxMessage(
+        Long id,
+        Long productId,
+        ProductChangedEvent.ChangeType type,
+        @JsonRawValue String payload,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,180 @@
+package com.store.management.api.event;
+
+import com.store.management.api.model.OutboxEvent;
+import com.store.management.api.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox in ID order and hands each batch to every sink.
+ * Rows are deleted only after all sinks accepted them (at-least-once). When a sink rejects a
+ * batch, it is retried one message at a time; a product whose message fails is held back for
+ * the rest of the batch, so its later changes never overtake it, while other products move on.
+ * A message that has failed max-attempts times is parked, and so is every later change to its
+ * product, so a persistently failing product cannot fill the head of the outbox and stall the rest.
+ * Run one relay per database.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final long settleMs;
+    private final int maxAttempts;
+    
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxSink> sinks,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.settle-ms:1000}") long settleMs,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.settleMs = settleMs;
+        this.maxAttempts = maxAttempts;
+        log.info("Outbox relay delivering to sinks: {}", sinks.stream().map(OutboxSink::getName).toList());
+    }
+    
+    /**
+     * Delivers every settled outbox row, batch by batch, until the outbox is empty or a delivery fails
+     * @return Number of rows delivered
+     */
+    @Scheduled(initialDelayString = "${outbox.relay.interval-ms:500}",
+               fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public int relay() {
+        int total = 0;
+        BatchResult result;
+        do {
+            result = relayBatch();
+            total += result.delivered();
+        } while (result.delivered() == batchSize && result.failed() == 0);
+        return total;
+    }
+    
+    private BatchResult relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findSettled(
+            LocalDateTime.now().minusNanos(settleMs * 1_000_000), PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        
+        // Later changes to a product with a parked message are parked behind it, keeping its order
+        Set<Long> parkedProducts = new HashSet<>(outboxEventRepository.findParkedProductIds(
+            events.stream().map(OutboxEvent::getProductId).collect(Collectors.toSet())));
+        List<Long> behindParked = events.stream()
+            .filter(event -> parkedProducts.contains(event.getProductId()))
+            .map(OutboxEvent::getId)
+            .toList();
+        List<OutboxMessage> messages = events.stream()
+            .filter(event -> !parkedProducts.contains(event.getProductId()))
+            .map(event -> new OutboxMessage(event.getId(), event.getProductId(), event.getType(),
+                event.getPayload(), event.getCreatedAt()))
+            .toList();
+        // Product ID -> error of its first failed message in this batch
+        Map<Long, String> heldBack = new LinkedHashMap<>();
+        for (OutboxSink sink : sinks) {
+            deliver(sink, messages, heldBack);
+        }
+        
+        List<Long> delivered = new ArrayList<>();
+        Map<String, List<Long>> failed = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            String error = heldBack.get(message.productId());
+            if (error == null) {
+                delivered.add(message.id());
+            } else {
+                failed.computeIfAbsent(error, key -> new ArrayList<>()).add(message.id());
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Integer parked = transactionTemplate.execute(status -> {
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.deleteByIdIn(delivered);
+            }
+            int parkedCount = 0;
+            for (Map.Entry<String, List<Long>> entry : failed.entrySet()) {
+                outboxEventRepository.markFailed(entry.getValue(), entry.getKey());
+                parkedCount += outboxEventRepository.parkExhausted(entry.getValue(), maxAttempts, now);
+            }
+            if (!behindParked.isEmpty()) {
+                parkedCount += outboxEventRepository.park(behindParked, now);
+            }
+            return parkedCount;
+        });
+        
+        int failedCount = messages.size() - delivered.size();
+        meterRegistry.counter("outbox.relay.messages", "outcome", "delivered").increment(delivered.size());
+        if (failedCount > 0) {
+            meterRegistry.counter("outbox.relay.messages", "outcome", "retried").increment(failedCount);
+            log.warn("Outbox relay delivered {} messages, holding back {} for products {}",
+                delivered.size(), failedCount, heldBack.keySet());
+        }
+        if (parked != null && parked > 0) {
+            meterRegistry.counter("outbox.relay.messages", "outcome", "parked").increment(parked);
+            log.error("Outbox relay parked {} messages after {} failed attempts or behind a parked message",
+                parked, maxAttempts);
+        }
+        return new BatchResult(delivered.size(), failedCount + behindParked.size());
+    }
+    
+    private void deliver(OutboxSink sink, List<OutboxMessage> messages, Map<Long, String> heldBack) {
+        List<OutboxMessage> pending = messages.stream()
+            .filter(message -> !heldBack.containsKey(message.productId()))
+            .toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            sink.deliver(pending);
+            return;
+        } catch (Exception e) {
+            log.warn("Outbox sink {} rejected a batch of {} messages, retrying one by one: {}",
+                sink.getName(), pending.size(), e.getMessage());
+            meterRegistry.counter("outbox.relay.sink.failures", "sink", sink.getName()).increment();
+        }
+        
+        for (OutboxMessage message : pending) {
+            if (heldBack.containsKey(message.productId())) {
+                continue;
+            }
+            try {
+                sink.deliver(List.of(message));
+            } catch (Exception e) {
+                heldBack.put(message.productId(), truncate(sink.getName() + ": " + e.getMessage()));
+            }
+        }
+    }
+    
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+    
+    private record BatchResult(int delivered, int failed) {}
+}
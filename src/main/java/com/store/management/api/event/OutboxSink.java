@@ -0,0 +1,15 @@
+package com.store.management.api.event;
+
+import java.util.List;
+
+/**
+ * Destination the outbox relay delivers product changes to.
+ * Messages arrive in outbox order, and a message can arrive again after any failure, so
+ * sinks should be idempotent per message ID. Throwing rejects the whole call.
+ */
+public interface OutboxSink {
+    
+    String getName();
+    
+    void deliver(List<OutboxMessage> messages) throws Exception;
+}
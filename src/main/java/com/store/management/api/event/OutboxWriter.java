@@ -0,0 +1,62 @@
+package com.store.management.api.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.api.dto.ProductChange;
+import com.store.management.api.dto.ProductResponse;
+import com.store.management.api.model.OutboxEvent;
+import com.store.management.api.model.Product;
+import com.store.management.api.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Turns product changes into outbox rows just before the writing transaction commits,
+ * so the change and its outbox row commit or roll back together
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxWriter {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        Product product = event.product();
+        ProductChange change = product == null
+            ? new ProductChange(event.productId(), ProductChange.Operation.DELETE, now, null)
+            : new ProductChange(event.productId(), ProductChange.Operation.UPSERT, now, mapToResponse(product));
+        
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                .productId(event.productId())
+                .type(event.type())
+                .payload(objectMapper.writeValueAsString(change))
+                .createdAt(now)
+                .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize change of product " + event.productId(), e);
+        }
+    }
+    
+    private ProductResponse mapToResponse(Product product) {
+        return new ProductResponse(
+            product.getId(),
+            product.getName(),
+            product.getDescription(),
+            product.getPrice(),
+            product.getCategory(),
+            product.getStockQuantity(),
+            product.getCreatedAt(),
+            product.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package com.store.management.api.event;
+
+import com.store.management.api.model.Product;
+
+/**
+ * Published by ProductService for every product write.
+ * Listeners that maintain derived state should react after commit.
+ */
+public record ProductChangedEvent(
+        ChangeType type,
+        Long productId,
+        Product product
+) {
+    
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    public static ProductChangedEvent created(Product product) {
+        return new ProductChangedEvent(ChangeType.CREATED, product.getId(), product);
+    }
+    
+    public static ProductChangedEvent updated(Product product) {
+        return new ProductChangedEvent(ChangeType.UPDATED, product.getId(), product);
+    }
+    
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(ChangeType.DELETED, productId, null);
+    }
+    
+    /**
+     * Row version the change committed with. Concurrent transactions can run their after-commit
+     * listeners in the opposite order to their commits, so listeners compare versions per product
+     * rather than trust arrival order. Read when the event is handled, after the flush that set it.
+     * A delete is final and orders after every update.
+     */
+    public long version() {
+        return type == ChangeType.DELETED ? Long.MAX_VALUE : product.getVersion();
+    }
+}
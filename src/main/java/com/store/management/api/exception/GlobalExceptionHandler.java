@@ -1,9 +1,11 @@
 package com.store.management.api.exception;
 
+import com.store.management.api.dto.StockShortage;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -15,8 +17,10 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -24,6 +28,8 @@ import java.util.Set;
 @Slf4j
 public class GlobalExceptionHandler {
     
+    private final LogThrottle notFoundLogThrottle = new LogThrottle(10, Duration.ofSeconds(10));
+    
     /**
      * Handle validation errors for request body
      */
@@ -88,7 +94,11 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleEntityNotFoundException(
             EntityNotFoundException ex, WebRequest request) {
         
-        log.error("Entity not found: {}", ex.getMessage());
+        // Clients probing for missing IDs are not server errors; log a sample of them
+        if (notFoundLogThrottle.tryAcquire()) {
+            log.warn("Entity not found: {} ({} similar messages suppressed)",
+                ex.getMessage(), notFoundLogThrottle.drainSuppressed());
+        }
         
         ErrorResponse errorResponse = ErrorResponse.builder()
             .timestamp(Instant.now())
@@ -141,6 +151,55 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
     }
     
+    /**
+     * Handle requests shed under load
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(
+            TooManyRequestsException ex, WebRequest request) {
+        
+        log.warn("Request shed: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+            .timestamp(Instant.now())
+            .status(HttpStatus.TOO_MANY_REQUESTS.value())
+            .error("Too Many Requests")
+            .message(ex.getMessage())
+            .path(getPath(request))
+            .build();
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(errorResponse);
+    }
+    
+    /**
+     * Handle orders that cannot be filled from stock
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStockException(
+            InsufficientStockException ex, WebRequest request) {
+        
+        log.warn("Order rejected: {}", ex.getMessage());
+        
+        Map<String, String> shortages = new LinkedHashMap<>();
+        for (StockShortage shortage : ex.getShortages()) {
+            shortages.put(String.valueOf(shortage.productId()),
+                "requested " + shortage.requested() + ", available " + shortage.available());
+        }
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+            .timestamp(Instant.now())
+            .status(HttpStatus.CONFLICT.value())
+            .error("Insufficient Stock")
+            .message(ex.getMessage())
+            .path(getPath(request))
+            .details(shortages)
+            .build();
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
     /**
      * Handle access denied exceptions
      */
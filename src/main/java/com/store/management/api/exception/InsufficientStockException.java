@@ -0,0 +1,20 @@
+package com.store.management.api.exception;
+
+import com.store.management.api.dto.StockShortage;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Thrown when an order cannot be filled; mapped to 409 with one detail per short line
+ */
+@Getter
+public class InsufficientStockException extends RuntimeException {
+    
+    private final List<StockShortage> shortages;
+    
+    public InsufficientStockException(List<StockShortage> shortages) {
+        super("Insufficient stock for " + shortages.size() + " order line(s)");
+        this.shortages = shortages;
+    }
+}
@@ -0,0 +1,48 @@
+package com.store.management.api.exception;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through at most a fixed number of log statements per time window and counts the rest,
+ * so a flood of identical client errors cannot turn logging into the bottleneck
+ */
+public final class LogThrottle {
+    
+    private final int maxPerWindow;
+    private final long windowNanos;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicInteger suppressed = new AtomicInteger();
+    
+    public LogThrottle(int maxPerWindow, Duration window) {
+        this.maxPerWindow = maxPerWindow;
+        this.windowNanos = window.toNanos();
+    }
+    
+    /**
+     * Whether the caller may log now
+     * @return true if under the limit for the current window
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            count.set(0);
+        }
+        if (count.incrementAndGet() <= maxPerWindow) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+    
+    /**
+     * Returns and resets the number of log statements suppressed since the last call
+     * @return Suppressed count
+     */
+    public int drainSuppressed() {
+        return suppressed.getAndSet(0);
+    }
+}
@@ -0,0 +1,25 @@
+package com.store.management.api.exception;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.Getter;
+
+/**
+ * Thrown when a product ID does not exist.
+ * A missing product is an expected outcome rather than a bug, so no stack trace is captured:
+ * walking the stack is most of the cost of throwing, and it is paid on every probe for an ID.
+ */
+@Getter
+public class ProductNotFoundException extends EntityNotFoundException {
+    
+    private final Long productId;
+    
+    public ProductNotFoundException(Long productId) {
+        super("Product not found with ID: " + productId);
+        this.productId = productId;
+    }
+    
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
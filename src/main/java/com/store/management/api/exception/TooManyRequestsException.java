@@ -0,0 +1,17 @@
+package com.store.management.api.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request is shed because the server is at capacity; mapped to 429 with Retry-After
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
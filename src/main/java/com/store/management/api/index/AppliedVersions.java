@@ -0,0 +1,44 @@
+package com.store.management.api.index;
+
+import com.store.management.api.event.ProductChangedEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Last row version an index applied per product, so a change event that arrives after a newer one
+ * for the same product is dropped instead of overwriting it. Deletes are recorded as the highest
+ * version and stay until the index is reloaded, since a late update must not bring a deleted
+ * product back. Not thread-safe; the owning index calls it under its write lock.
+ */
+final class AppliedVersions {
+
+    private final Map<Long, Long> versionById = new HashMap<>();
+
+    /**
+     * Records the event's version unless one at least as new was already applied
+     * @return true if the event is newer and should be applied
+     */
+    boolean advance(ProductChangedEvent event) {
+        long version = event.version();
+        Long applied = versionById.get(event.productId());
+        if (applied != null && applied >= version) {
+            return false;
+        }
+        versionById.put(event.productId(), version);
+        return true;
+    }
+
+    /**
+     * Records the version a product was loaded with
+     */
+    void put(Long id, Long version) {
+        if (version != null) {
+            versionById.put(id, version);
+        }
+    }
+
+    void clear() {
+        versionById.clear();
+    }
+}
@@ -0,0 +1,18 @@
+package com.store.management.api.index;
+
+/**
+ * Column-wise copy of the price and facet indexes, one row per product, as kept in a catalog snapshot.
+ * Prices are in cents; categories and brands share dictionary strings rather than holding copies.
+ */
+public record CatalogIndexColumns(
+        long[] ids,
+        long[] prices,
+        String[] categories,
+        String[] brands,
+        boolean[] inStock
+) {
+
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,191 @@
+package com.store.management.api.index;
+
+import com.store.management.api.dto.ChangeCursor;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary file with a copy of the in-memory price and facet indexes.
+ * Layout: header (magic, format version, change feed cursor, row count), the category and
+ * brand dictionaries, then one column each for id, price (cents), category code, brand code
+ * and flags (in stock). Files are written through a memory mapping into a temporary
+ * file and atomically moved into place, and read back through a read-only mapping.
+ */
+public final class CatalogSnapshotFile {
+
+    static final int MAGIC = 0x43415453;
+    static final int FORMAT_VERSION = 2;
+
+    private static final int NO_BRAND = -1;
+    private static final byte IN_STOCK = 1;
+
+    private CatalogSnapshotFile() {
+    }
+
+    /**
+     * Contents of a snapshot file
+     * @param columns Index columns, one row per product
+     * @param cursor Change feed position to catch up from; later changes may be missing from the columns
+     */
+    public record Contents(CatalogIndexColumns columns, ChangeCursor cursor) {}
+
+    public static void write(Path path, CatalogIndexColumns columns, ChangeCursor cursor) throws IOException {
+        int rows = columns.size();
+        Map<String, Integer> categoryCodes = new HashMap<>();
+        Map<String, Integer> brandCodes = new HashMap<>();
+        List<byte[]> categories = new ArrayList<>();
+        List<byte[]> brands = new ArrayList<>();
+        int[] categoryColumn = new int[rows];
+        int[] brandColumn = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            categoryColumn[row] = encode(columns.categories()[row], categoryCodes, categories);
+            String brand = columns.brands()[row];
+            brandColumn[row] = brand == null ? NO_BRAND : encode(brand, brandCodes, brands);
+        }
+
+        long size = Integer.BYTES * 2L + Long.BYTES * 2 + Integer.BYTES
+            + dictionarySize(categories) + dictionarySize(brands)
+            + (long) rows * (Long.BYTES * 2 + Integer.BYTES * 2 + 1);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot too large to map: " + size + " bytes");
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            buffer.putLong(toMicros(cursor.changedAt()));
+            buffer.putLong(cursor.productId());
+            buffer.putInt(rows);
+            putDictionary(buffer, categories);
+            putDictionary(buffer, brands);
+            for (long id : columns.ids()) {
+                buffer.putLong(id);
+            }
+            for (long price : columns.prices()) {
+                buffer.putLong(price);
+            }
+            for (int code : categoryColumn) {
+                buffer.putInt(code);
+            }
+            for (int code : brandColumn) {
+                buffer.putInt(code);
+            }
+            for (int row = 0; row < rows; row++) {
+                buffer.put(columns.inStock()[row] ? IN_STOCK : 0);
+            }
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot file
+     * @param path Snapshot location
+     * @return Snapshot contents
+     * @throws IOException if the file is missing, truncated or has another format version
+     */
+    public static Contents read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Integer.BYTES * 2 || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + version + ": " + path);
+            }
+            ChangeCursor cursor = new ChangeCursor(fromMicros(buffer.getLong()), buffer.getLong());
+            int rows = buffer.getInt();
+            String[] categoryDictionary = getDictionary(buffer);
+            String[] brandDictionary = getDictionary(buffer);
+
+            long[] ids = new long[rows];
+            long[] prices = new long[rows];
+            String[] categories = new String[rows];
+            String[] brands = new String[rows];
+            boolean[] inStock = new boolean[rows];
+            for (int row = 0; row < rows; row++) {
+                ids[row] = buffer.getLong();
+            }
+            for (int row = 0; row < rows; row++) {
+                prices[row] = buffer.getLong();
+            }
+            for (int row = 0; row < rows; row++) {
+                categories[row] = categoryDictionary[buffer.getInt()];
+            }
+            for (int row = 0; row < rows; row++) {
+                int code = buffer.getInt();
+                brands[row] = code == NO_BRAND ? null : brandDictionary[code];
+            }
+            for (int row = 0; row < rows; row++) {
+                byte flags = buffer.get();
+                inStock[row] = (flags & IN_STOCK) != 0;
+            }
+            return new Contents(new CatalogIndexColumns(ids, prices, categories, brands, inStock), cursor);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt catalog snapshot: " + path, e);
+        }
+    }
+
+    private static int encode(String value, Map<String, Integer> codes, List<byte[]> dictionary) {
+        return codes.computeIfAbsent(value, key -> {
+            dictionary.add(key.getBytes(StandardCharsets.UTF_8));
+            return dictionary.size() - 1;
+        });
+    }
+
+    private static long dictionarySize(List<byte[]> dictionary) {
+        long size = Integer.BYTES;
+        for (byte[] value : dictionary) {
+            size += Integer.BYTES + value.length;
+        }
+        return size;
+    }
+
+    private static void putDictionary(MappedByteBuffer buffer, List<byte[]> dictionary) {
+        buffer.putInt(dictionary.size());
+        for (byte[] value : dictionary) {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String[] getDictionary(MappedByteBuffer buffer) {
+        String[] dictionary = new String[buffer.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] value = new byte[buffer.getInt()];
+            buffer.get(value);
+            dictionary[i] = new String(value, StandardCharsets.UTF_8);
+        }
+        return dictionary;
+    }
+
+    private static long toMicros(LocalDateTime value) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), value);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,180 @@
+package com.store.management.api.index;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only columnar copy of the products table held off-heap in direct buffers.
+ * IDs and prices (scaled to cents) are long columns, stock is an int column and
+ * category is dictionary-encoded into an int column. Aggregations are tight loops
+ * over the columns, so analytics neither allocates per row nor touches the database.
+ */
+public final class ColumnarProductSnapshot {
+
+    private static final int PRICE_SCALE = 2;
+
+    private final LongBuffer ids;
+    private final LongBuffer prices;
+    private final IntBuffer stock;
+    private final IntBuffer categories;
+    private final String[] categoryDictionary;
+    private final int rowCount;
+    private final Instant takenAt;
+
+    private ColumnarProductSnapshot(LongBuffer ids, LongBuffer prices, IntBuffer stock, IntBuffer categories,
+                                    String[] categoryDictionary, int rowCount, Instant takenAt) {
+        this.ids = ids;
+        this.prices = prices;
+        this.stock = stock;
+        this.categories = categories;
+        this.categoryDictionary = categoryDictionary;
+        this.rowCount = rowCount;
+        this.takenAt = takenAt;
+    }
+
+    public static Builder builder(int expectedRows) {
+        return new Builder(expectedRows);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    public long totalStock() {
+        long total = 0;
+        for (int row = 0; row < rowCount; row++) {
+            total += stock.get(row);
+        }
+        return total;
+    }
+
+    public BigDecimal totalStockValue() {
+        long total = 0;
+        for (int row = 0; row < rowCount; row++) {
+            total = Math.addExact(total, Math.multiplyExact(prices.get(row), stock.get(row)));
+        }
+        return BigDecimal.valueOf(total, PRICE_SCALE);
+    }
+
+    /**
+     * Sum of price * stock per category, in dictionary order
+     */
+    public Map<String, BigDecimal> stockValueByCategory() {
+        long[] totals = new long[categoryDictionary.length];
+        for (int row = 0; row < rowCount; row++) {
+            int category = categories.get(row);
+            totals[category] = Math.addExact(totals[category], Math.multiplyExact(prices.get(row), stock.get(row)));
+        }
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (int category = 0; category < totals.length; category++) {
+            result.put(categoryDictionary[category], BigDecimal.valueOf(totals[category], PRICE_SCALE));
+        }
+        return result;
+    }
+
+    /**
+     * Sum of stock per category, in dictionary order
+     */
+    public Map<String, Long> stockByCategory() {
+        long[] totals = new long[categoryDictionary.length];
+        for (int row = 0; row < rowCount; row++) {
+            totals[categories.get(row)] += stock.get(row);
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int category = 0; category < totals.length; category++) {
+            result.put(categoryDictionary[category], totals[category]);
+        }
+        return result;
+    }
+
+    /**
+     * IDs of products whose stock is below the threshold
+     */
+    public List<Long> idsWithStockBelow(int threshold) {
+        List<Long> result = new ArrayList<>();
+        for (int row = 0; row < rowCount; row++) {
+            if (stock.get(row) < threshold) {
+                result.add(ids.get(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Appends rows into growing direct buffers and freezes them into a snapshot
+     */
+    public static final class Builder {
+
+        private LongBuffer ids;
+        private LongBuffer prices;
+        private IntBuffer stock;
+        private IntBuffer categories;
+        private final Map<String, Integer> categoryCodes = new HashMap<>();
+        private final List<String> categoryDictionary = new ArrayList<>();
+        private int rowCount;
+
+        private Builder(int expectedRows) {
+            allocate(Math.max(16, expectedRows));
+        }
+
+        public Builder add(long id, BigDecimal price, int stockQuantity, String category) {
+            if (rowCount == ids.capacity()) {
+                allocate(rowCount * 2);
+            }
+            Integer code = categoryCodes.computeIfAbsent(category, value -> {
+                categoryDictionary.add(value);
+                return categoryDictionary.size() - 1;
+            });
+            ids.put(rowCount, id);
+            prices.put(rowCount, price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+            stock.put(rowCount, stockQuantity);
+            categories.put(rowCount, code);
+            rowCount++;
+            return this;
+        }
+
+        public ColumnarProductSnapshot build() {
+            return new ColumnarProductSnapshot(ids, prices, stock, categories,
+                categoryDictionary.toArray(String[]::new), rowCount, Instant.now());
+        }
+
+        private void allocate(int capacity) {
+            LongBuffer newIds = directLongs(capacity);
+            LongBuffer newPrices = directLongs(capacity);
+            IntBuffer newStock = directInts(capacity);
+            IntBuffer newCategories = directInts(capacity);
+            if (rowCount > 0) {
+                newIds.put(0, ids, 0, rowCount);
+                newPrices.put(0, prices, 0, rowCount);
+                newStock.put(0, stock, 0, rowCount);
+                newCategories.put(0, categories, 0, rowCount);
+            }
+            ids = newIds;
+            prices = newPrices;
+            stock = newStock;
+            categories = newCategories;
+        }
+
+        private static LongBuffer directLongs(int capacity) {
+            return ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+
+        private static IntBuffer directInts(int capacity) {
+            return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+    }
+}
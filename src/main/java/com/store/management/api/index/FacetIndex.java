@@ -0,0 +1,345 @@
+package com.store.management.api.index;
+
+import com.store.management.api.dto.FacetSearchRequest;
+import com.store.management.api.dto.FacetSearchResponse;
+import com.store.management.api.dto.ProductFacetValues;
+import com.store.management.api.event.ProductChangedEvent;
+import com.store.management.api.model.Product;
+import com.store.management.api.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap indexes over product facets (category, brand, price band and in-stock).
+ * Each facet value owns a compressed Roaring bitmap with one bit per product ID, so sparse values
+ * such as a small brand take space in proportion to their products rather than to the catalog.
+ * A search ANDs the selected values of every facet and counts each facet value against the other
+ * facets' filters with andCardinality, which counts the intersection without materializing it.
+ * The index loads lazily on first use, or is restored from a catalog snapshot, and follows
+ * ProductService writes after commit, dropping events older than the last one applied to a product.
+ */
+@Component
+@Slf4j
+public class FacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String BRAND = "brand";
+    public static final String PRICE_BAND = "priceBand";
+    public static final String IN_STOCK = "inStock";
+
+    private static final List<String> FACETS = List.of(CATEGORY, BRAND, PRICE_BAND, IN_STOCK);
+
+    private final ProductRepository productRepository;
+    private final List<BigDecimal> priceBandBounds;
+    private final List<String> priceBandLabels;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<String, RoaringBitmap>> bitmaps = new HashMap<>();
+    private final Map<Long, String[]> valuesById = new HashMap<>();
+    private final AppliedVersions versions = new AppliedVersions();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private volatile boolean loaded;
+
+    public FacetIndex(ProductRepository productRepository,
+                      @Value("${products.facets.price-bands:25,50,100,250,500,1000}") List<BigDecimal> priceBandBounds) {
+        this.productRepository = productRepository;
+        this.priceBandBounds = priceBandBounds.stream().sorted().toList();
+        this.priceBandLabels = new ArrayList<>();
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal upper : this.priceBandBounds) {
+            priceBandLabels.add(lower.toPlainString() + "-" + upper.toPlainString());
+            lower = upper;
+        }
+        priceBandLabels.add(lower.toPlainString() + "+");
+        FACETS.forEach(facet -> bitmaps.put(facet, new HashMap<>()));
+    }
+
+    /**
+     * Finds products matching the filters together with per-facet value counts
+     * @param request Facet filters
+     * @param offset Number of matching IDs to skip
+     * @param limit Maximum number of IDs to return
+     * @return Total matches, a page of matching IDs in ascending order and facet counts
+     */
+    public FacetSearchResponse search(FacetSearchRequest request, long offset, int limit) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<String, RoaringBitmap> filters = new LinkedHashMap<>();
+            addFilter(filters, CATEGORY, request.category());
+            addFilter(filters, BRAND, request.brand());
+            addFilter(filters, PRICE_BAND, request.priceBand());
+            addFilter(filters, IN_STOCK, request.inStock() == null ? null : List.of(request.inStock().toString()));
+
+            RoaringBitmap matches = intersect(filters, null);
+
+            Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                RoaringBitmap base = filters.containsKey(facet) ? intersect(filters, facet) : matches;
+                Map<String, Long> counts = new TreeMap<>();
+                for (Map.Entry<String, RoaringBitmap> value : bitmaps.get(facet).entrySet()) {
+                    int count = RoaringBitmap.andCardinality(value.getValue(), base);
+                    if (count > 0) {
+                        counts.put(value.getKey(), (long) count);
+                    }
+                }
+                facetCounts.put(facet, counts);
+            }
+
+            long total = matches.getLongCardinality();
+            List<Long> ids = new ArrayList<>((int) Math.max(0, Math.min(limit, Math.min(1024, total - offset))));
+            if (offset < total) {
+                // Jumps straight to the first ID of the page instead of walking the skipped ones
+                PeekableIntIterator bits = matches.getIntIterator();
+                bits.advanceIfNeeded(matches.select((int) offset));
+                while (bits.hasNext() && ids.size() < limit) {
+                    ids.add((long) bits.next());
+                }
+            }
+            return new FacetSearchResponse(total, ids, facetCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index contents, e.g. from a catalog snapshot
+     * @param products Products with ID, category, brand, price and stock set, and the version if known
+     */
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Product product : products) {
+                add(product.getId(), valuesOf(product.getCategory(), product.getBrand(), product.getPrice(),
+                    product.getStockQuantity()));
+                versions.put(product.getId(), product.getVersion());
+            }
+            loaded = true;
+            log.info("Facet index rebuilt with {} products", valuesById.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index contents with the facet values kept in a catalog snapshot.
+     * The snapshot has no row versions, so the first change applied afterwards wins for each product
+     * @param columns Snapshot columns
+     */
+    public void restore(CatalogIndexColumns columns) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (int row = 0; row < columns.size(); row++) {
+                add(columns.ids()[row], valuesOf(columns.categories()[row], columns.brands()[row],
+                    PriceIndex.fromScaled(columns.prices()[row]), columns.inStock()[row] ? 1 : 0));
+            }
+            loaded = true;
+            log.info("Facet index restored with {} products", valuesById.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the facet values of the given products for a catalog snapshot; products that are
+     * no longer in the index are left out
+     * @param ids Product IDs, e.g. from PriceIndex.exportPrices()
+     * @param prices Prices in cents matching ids
+     * @return Snapshot columns in the order of ids
+     */
+    public CatalogIndexColumns export(long[] ids, long[] prices) {
+        ensureLoaded();
+        int category = FACETS.indexOf(CATEGORY);
+        int brand = FACETS.indexOf(BRAND);
+        int stock = FACETS.indexOf(IN_STOCK);
+        lock.readLock().lock();
+        try {
+            int size = 0;
+            long[] exportedIds = new long[ids.length];
+            long[] exportedPrices = new long[ids.length];
+            String[] categories = new String[ids.length];
+            String[] brands = new String[ids.length];
+            boolean[] inStock = new boolean[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                String[] values = valuesById.get(ids[i]);
+                if (values == null) {
+                    continue;
+                }
+                exportedIds[size] = ids[i];
+                exportedPrices[size] = prices[i];
+                categories[size] = values[category];
+                brands[size] = values[brand];
+                inStock[size] = Boolean.parseBoolean(values[stock]);
+                size++;
+            }
+            return new CatalogIndexColumns(Arrays.copyOf(exportedIds, size), Arrays.copyOf(exportedPrices, size),
+                Arrays.copyOf(categories, size), Arrays.copyOf(brands, size),
+                Arrays.copyOf(inStock, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // Not loaded yet; the initial load reads committed state
+                return;
+            }
+            if (!versions.advance(event)) {
+                // A newer change to this product was applied first, e.g. a sale to zero before a receipt
+                return;
+            }
+            remove(event.productId());
+            if (event.type() != ProductChangedEvent.ChangeType.DELETED) {
+                Product product = event.product();
+                add(event.productId(), valuesOf(product.getCategory(), product.getBrand(), product.getPrice(),
+                    product.getStockQuantity()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Label of the configured price band that contains the price, e.g. "50-100"
+     */
+    public String priceBandOf(BigDecimal price) {
+        for (int i = 0; i < priceBandBounds.size(); i++) {
+            if (price.compareTo(priceBandBounds.get(i)) < 0) {
+                return priceBandLabels.get(i);
+            }
+        }
+        return priceBandLabels.get(priceBandLabels.size() - 1);
+    }
+
+    /**
+     * Loads the index from the database unless it is already loaded
+     */
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                clear();
+                for (ProductFacetValues product : productRepository.findAllFacetValues()) {
+                    add(product.getId(), valuesOf(product.getCategory(), product.getBrand(), product.getPrice(),
+                        product.getStockQuantity()));
+                    versions.put(product.getId(), product.getVersion());
+                }
+                loaded = true;
+                log.info("Facet index loaded with {} products", valuesById.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String[] valuesOf(String category, String brand, BigDecimal price, Integer stockQuantity) {
+        return new String[] {
+            category,
+            brand,
+            price == null ? null : priceBandOf(price),
+            String.valueOf(stockQuantity != null && stockQuantity > 0)
+        };
+    }
+
+    private void add(Long id, String[] values) {
+        int bit = toBit(id);
+        for (int i = 0; i < FACETS.size(); i++) {
+            if (values[i] != null) {
+                bitmaps.get(FACETS.get(i)).computeIfAbsent(values[i], value -> new RoaringBitmap()).add(bit);
+            }
+        }
+        all.add(bit);
+        valuesById.put(id, values);
+    }
+
+    private void remove(Long id) {
+        String[] previous = valuesById.remove(id);
+        if (previous == null) {
+            return;
+        }
+        int bit = toBit(id);
+        for (int i = 0; i < FACETS.size(); i++) {
+            if (previous[i] == null) {
+                continue;
+            }
+            Map<String, RoaringBitmap> facet = bitmaps.get(FACETS.get(i));
+            RoaringBitmap bitmap = facet.get(previous[i]);
+            bitmap.remove(bit);
+            if (bitmap.isEmpty()) {
+                facet.remove(previous[i]);
+            }
+        }
+        all.remove(bit);
+    }
+
+    private void clear() {
+        bitmaps.values().forEach(Map::clear);
+        valuesById.clear();
+        versions.clear();
+        all.clear();
+    }
+
+    private void addFilter(Map<String, RoaringBitmap> filters, String facet, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        List<RoaringBitmap> selected = new ArrayList<>(values.size());
+        for (String value : values) {
+            RoaringBitmap bitmap = bitmaps.get(facet).get(value);
+            if (bitmap != null) {
+                selected.add(bitmap);
+            }
+        }
+        filters.put(facet, FastAggregation.or(selected.iterator()));
+    }
+
+    /**
+     * AND of every filter except the excluded facet; all products when nothing is left to filter by.
+     * The result may be one of the index's own bitmaps and must not be modified
+     */
+    private RoaringBitmap intersect(Map<String, RoaringBitmap> filters, String excludedFacet) {
+        List<RoaringBitmap> selected = new ArrayList<>(filters.size());
+        filters.forEach((facet, bitmap) -> {
+            if (!facet.equals(excludedFacet)) {
+                selected.add(bitmap);
+            }
+        });
+        if (selected.isEmpty()) {
+            return all;
+        }
+        return selected.size() == 1 ? selected.get(0) : FastAggregation.and(selected.iterator());
+    }
+
+    private static int toBit(Long id) {
+        if (id == null || id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Product ID out of range for facet index: " + id);
+        }
+        return id.intValue();
+    }
+}
@@ -0,0 +1,546 @@
+package com.store.management.api.index;
+
+import com.store.management.api.dto.PriceBucket;
+import com.store.management.api.dto.ProductPrice;
+import com.store.management.api.event.ProductChangedEvent;
+import com.store.management.api.model.Product;
+import com.store.management.api.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory index of product prices.
+ * Prices are stored as scaled longs (cents), sorted by (price, id) in blocks of parallel primitive
+ * arrays of about BLOCK_SIZE entries. Readers use the current immutable snapshot without locking and
+ * answer range, count and histogram queries with binary searches. Writers copy only the blocks an
+ * entry leaves and enters plus the small block table, skip events that leave the price unchanged or
+ * are older than the last one applied to the product, and publish the new snapshot under a lock.
+ * The index loads lazily on first use, or is restored from a catalog snapshot, and follows
+ * ProductService writes after commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceIndex {
+
+    private static final int PRICE_SCALE = 2;
+    // Entries per block when the index is built; blocks split above MAX and merge below MIN
+    static final int BLOCK_SIZE = 1024;
+    static final int MAX_BLOCK_SIZE = 2 * BLOCK_SIZE;
+    static final int MIN_BLOCK_SIZE = BLOCK_SIZE / 4;
+
+    private final ProductRepository productRepository;
+
+    private final Object writeLock = new Object();
+    private final Map<Long, Long> priceById = new HashMap<>();
+    private final AppliedVersions versions = new AppliedVersions();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Finds product IDs with a price in [minPrice, maxPrice], ordered by price then ID
+     * @param minPrice Inclusive lower bound
+     * @param maxPrice Inclusive upper bound
+     * @param offset Number of matches to skip
+     * @param limit Maximum number of IDs to return
+     * @return Matching product IDs
+     */
+    public List<Long> findIds(BigDecimal minPrice, BigDecimal maxPrice, long offset, int limit) {
+        Snapshot current = snapshot();
+        int from = current.lowerBound(toScaled(minPrice, RoundingMode.CEILING));
+        int to = current.upperBound(toScaled(maxPrice, RoundingMode.FLOOR));
+
+        long start = Math.min((long) from + offset, to);
+        int end = (int) Math.min(start + limit, to);
+
+        List<Long> ids = new ArrayList<>(Math.max(0, end - (int) start));
+        current.copyIds((int) start, end, ids);
+        return ids;
+    }
+
+    /**
+     * Counts products with a price in [minPrice, maxPrice]
+     */
+    public long count(BigDecimal minPrice, BigDecimal maxPrice) {
+        Snapshot current = snapshot();
+        int from = current.lowerBound(toScaled(minPrice, RoundingMode.CEILING));
+        int to = current.upperBound(toScaled(maxPrice, RoundingMode.FLOOR));
+        return Math.max(0, to - from);
+    }
+
+    /**
+     * Splits [minPrice, maxPrice] into equal-width buckets and counts products in each
+     * @param minPrice Inclusive lower bound of the first bucket
+     * @param maxPrice Inclusive upper bound of the last bucket
+     * @param buckets Number of buckets
+     * @return Buckets in ascending price order
+     */
+    public List<PriceBucket> histogram(BigDecimal minPrice, BigDecimal maxPrice, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("Number of buckets must be greater than 0");
+        }
+        Snapshot current = snapshot();
+        long min = toScaled(minPrice, RoundingMode.CEILING);
+        long max = toScaled(maxPrice, RoundingMode.FLOOR);
+        if (max < min) {
+            return List.of();
+        }
+
+        long width = Math.max(1, ((max - min) + buckets) / buckets);
+        List<PriceBucket> histogram = new ArrayList<>(buckets);
+        int from = current.lowerBound(min);
+        for (long bucketMin = min; bucketMin <= max && histogram.size() < buckets; bucketMin += width) {
+            long bucketMax = Math.min(bucketMin + width - 1, max);
+            int to = current.upperBound(bucketMax);
+            histogram.add(new PriceBucket(fromScaled(bucketMin), fromScaled(bucketMax), to - from));
+            from = to;
+        }
+        return histogram;
+    }
+
+    /**
+     * Replaces the index contents, e.g. from a catalog snapshot
+     * @param products Products with at least ID and price set, and the version if known
+     */
+    public void rebuild(Collection<Product> products) {
+        synchronized (writeLock) {
+            priceById.clear();
+            versions.clear();
+            for (Product product : products) {
+                priceById.put(product.getId(), toScaled(product.getPrice(), RoundingMode.HALF_UP));
+                versions.put(product.getId(), product.getVersion());
+            }
+            snapshot = Snapshot.of(priceById);
+            log.info("Price index rebuilt with {} products", priceById.size());
+        }
+    }
+
+    /**
+     * Replaces the index contents with the prices kept in a catalog snapshot.
+     * The snapshot has no row versions, so the first change applied afterwards wins for each product
+     * @param ids Product IDs
+     * @param prices Prices in cents matching ids, ideally in exportPrices() order
+     */
+    public void restore(long[] ids, long[] prices) {
+        synchronized (writeLock) {
+            priceById.clear();
+            versions.clear();
+            boolean sorted = true;
+            for (int i = 0; i < ids.length; i++) {
+                priceById.put(ids[i], prices[i]);
+                sorted &= i == 0 || isLess(prices[i - 1], ids[i - 1], prices[i], ids[i]);
+            }
+            snapshot = sorted ? Snapshot.ofSorted(prices, ids) : Snapshot.of(priceById);
+            log.info("Price index restored with {} products", priceById.size());
+        }
+    }
+
+    /**
+     * Copies the index for a catalog snapshot from the current immutable view, without locking
+     * @return Product IDs and prices in cents in (price, id) order, as {ids, prices}
+     */
+    public long[][] exportPrices() {
+        Snapshot current = snapshot();
+        long[] ids = new long[current.size()];
+        long[] prices = new long[current.size()];
+        int position = 0;
+        for (Block block : current.blocks) {
+            System.arraycopy(block.ids, 0, ids, position, block.size());
+            System.arraycopy(block.prices, 0, prices, position, block.size());
+            position += block.size();
+        }
+        return new long[][] {ids, prices};
+    }
+
+    /**
+     * Loads the index from the database unless it is already loaded
+     */
+    public void ensureLoaded() {
+        snapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (writeLock) {
+            if (snapshot == null) {
+                // Not loaded yet; the initial load reads committed state
+                return;
+            }
+            if (!versions.advance(event)) {
+                // A newer change to this product was applied first
+                return;
+            }
+            long id = event.productId();
+            boolean deleted = event.type() == ProductChangedEvent.ChangeType.DELETED;
+            Long price = deleted ? null : toScaled(event.product().getPrice(), RoundingMode.HALF_UP);
+            Long previous = priceById.get(id);
+            if (Objects.equals(previous, price)) {
+                // Stock movements and checkouts publish this event too; most leave the price alone
+                return;
+            }
+            Snapshot updated = snapshot;
+            if (previous != null) {
+                updated = updated.without(previous, id);
+            }
+            if (deleted) {
+                priceById.remove(id);
+            } else {
+                priceById.put(id, price);
+                updated = updated.with(price, id);
+            }
+            snapshot = updated;
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            if (snapshot == null) {
+                List<ProductPrice> prices = productRepository.findAllPrices();
+                priceById.clear();
+                versions.clear();
+                for (ProductPrice price : prices) {
+                    priceById.put(price.getId(), toScaled(price.getPrice(), RoundingMode.HALF_UP));
+                    versions.put(price.getId(), price.getVersion());
+                }
+                snapshot = Snapshot.of(priceById);
+                log.info("Price index loaded with {} products", priceById.size());
+            }
+            return snapshot;
+        }
+    }
+
+    static long toScaled(BigDecimal price, RoundingMode roundingMode) {
+        return price.setScale(PRICE_SCALE, roundingMode).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromScaled(long scaledPrice) {
+        return BigDecimal.valueOf(scaledPrice, PRICE_SCALE);
+    }
+
+    /**
+     * Immutable sorted view over (price, id) pairs, split into sorted blocks of a bounded size.
+     * starts[b] is the position of the first entry of blocks[b], and starts[blocks.length] the size,
+     * so positions resolve with two binary searches. A change copies one block and the block table.
+     */
+    private static final class Snapshot {
+        private final Block[] blocks;
+        private final int[] starts;
+
+        private Snapshot(Block[] blocks) {
+            this.blocks = blocks;
+            this.starts = new int[blocks.length + 1];
+            for (int b = 0; b < blocks.length; b++) {
+                starts[b + 1] = starts[b] + blocks[b].size();
+            }
+        }
+
+        static Snapshot of(Map<Long, Long> priceById) {
+            int size = priceById.size();
+            long[][] entries = new long[size][];
+            int i = 0;
+            for (Map.Entry<Long, Long> entry : priceById.entrySet()) {
+                entries[i++] = new long[] {entry.getValue(), entry.getKey()};
+            }
+            Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+            long[] prices = new long[size];
+            long[] ids = new long[size];
+            for (i = 0; i < size; i++) {
+                prices[i] = entries[i][0];
+                ids[i] = entries[i][1];
+            }
+            return ofSorted(prices, ids);
+        }
+
+        /**
+         * Snapshot over arrays already ordered by (price, id), cut into blocks of BLOCK_SIZE
+         */
+        static Snapshot ofSorted(long[] prices, long[] ids) {
+            Block[] blocks = new Block[(prices.length + BLOCK_SIZE - 1) / BLOCK_SIZE];
+            for (int b = 0; b < blocks.length; b++) {
+                int from = b * BLOCK_SIZE;
+                int to = Math.min(from + BLOCK_SIZE, prices.length);
+                blocks[b] = new Block(Arrays.copyOfRange(prices, from, to), Arrays.copyOfRange(ids, from, to));
+            }
+            return new Snapshot(blocks);
+        }
+
+        int size() {
+            return starts[blocks.length];
+        }
+
+        /**
+         * Adds the IDs at positions [from, to) to the list, in order
+         */
+        void copyIds(int from, int to, List<Long> target) {
+            if (from >= to) {
+                return;
+            }
+            int b = blockAt(from);
+            int offset = from - starts[b];
+            for (int position = from; position < to; b++, offset = 0) {
+                Block block = blocks[b];
+                int end = Math.min(block.size(), offset + to - position);
+                for (int i = offset; i < end; i++) {
+                    target.add(block.ids[i]);
+                }
+                position += end - offset;
+            }
+        }
+
+        /**
+         * Copy with (price, id) inserted at its sorted position; a block that outgrows MAX_BLOCK_SIZE is split
+         */
+        Snapshot with(long price, long id) {
+            if (blocks.length == 0) {
+                return new Snapshot(new Block[] {new Block(new long[] {price}, new long[] {id})});
+            }
+            int b = Math.min(blockFor(price, id), blocks.length - 1);
+            Block updated = blocks[b].with(price, id);
+            if (updated.size() > MAX_BLOCK_SIZE) {
+                int half = updated.size() / 2;
+                return replace(b, 1, updated.slice(0, half), updated.slice(half, updated.size()));
+            }
+            return replace(b, 1, updated);
+        }
+
+        /**
+         * Copy with (price, id) removed; unchanged if not present. A block that shrinks below
+         * MIN_BLOCK_SIZE is merged into a neighbour when the result fits in MAX_BLOCK_SIZE
+         */
+        Snapshot without(long price, long id) {
+            int b = blockFor(price, id);
+            if (b == blocks.length) {
+                return this;
+            }
+            Block block = blocks[b];
+            int position = block.position(price, id);
+            if (position >= block.size() || block.prices[position] != price || block.ids[position] != id) {
+                return this;
+            }
+            Block updated = block.without(position);
+            if (updated.size() == 0) {
+                return replace(b, 1);
+            }
+            if (updated.size() < MIN_BLOCK_SIZE) {
+                if (b + 1 < blocks.length && updated.size() + blocks[b + 1].size() <= MAX_BLOCK_SIZE) {
+                    return replace(b, 2, updated.append(blocks[b + 1]));
+                }
+                if (b > 0 && blocks[b - 1].size() + updated.size() <= MAX_BLOCK_SIZE) {
+                    return replace(b - 1, 2, blocks[b - 1].append(updated));
+                }
+            }
+            return replace(b, 1, updated);
+        }
+
+        /**
+         * First position with price >= value
+         */
+        int lowerBound(long value) {
+            int low = 0;
+            int high = blocks.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (blocks[mid].lastPrice() < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low == blocks.length ? size() : starts[low] + blocks[low].lowerBound(value);
+        }
+
+        /**
+         * First position with price > value
+         */
+        int upperBound(long value) {
+            int low = 0;
+            int high = blocks.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (blocks[mid].lastPrice() <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low == blocks.length ? size() : starts[low] + blocks[low].upperBound(value);
+        }
+
+        /**
+         * First block whose last (price, id) is not less than the given pair
+         */
+        private int blockFor(long price, long id) {
+            int low = 0;
+            int high = blocks.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                Block block = blocks[mid];
+                if (isLess(block.lastPrice(), block.lastId(), price, id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Block holding the given position
+         */
+        private int blockAt(int position) {
+            int low = 0;
+            int high = blocks.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (starts[mid] <= position) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Copy with count blocks from index replaced by the given ones
+         */
+        private Snapshot replace(int index, int count, Block... replacements) {
+            Block[] updated = new Block[blocks.length - count + replacements.length];
+            System.arraycopy(blocks, 0, updated, 0, index);
+            System.arraycopy(replacements, 0, updated, index, replacements.length);
+            System.arraycopy(blocks, index + count, updated, index + replacements.length, blocks.length - index - count);
+            return new Snapshot(updated);
+        }
+    }
+
+    /**
+     * Immutable run of the index: prices[i] with ids[i], ordered by (price, id), never empty inside a snapshot
+     */
+    private static final class Block {
+        private final long[] prices;
+        private final long[] ids;
+
+        private Block(long[] prices, long[] ids) {
+            this.prices = prices;
+            this.ids = ids;
+        }
+
+        int size() {
+            return prices.length;
+        }
+
+        long lastPrice() {
+            return prices[prices.length - 1];
+        }
+
+        long lastId() {
+            return ids[ids.length - 1];
+        }
+
+        Block with(long price, long id) {
+            int position = position(price, id);
+            long[] newPrices = new long[prices.length + 1];
+            long[] newIds = new long[ids.length + 1];
+            System.arraycopy(prices, 0, newPrices, 0, position);
+            System.arraycopy(ids, 0, newIds, 0, position);
+            newPrices[position] = price;
+            newIds[position] = id;
+            System.arraycopy(prices, position, newPrices, position + 1, prices.length - position);
+            System.arraycopy(ids, position, newIds, position + 1, ids.length - position);
+            return new Block(newPrices, newIds);
+        }
+
+        Block without(int position) {
+            long[] newPrices = new long[prices.length - 1];
+            long[] newIds = new long[ids.length - 1];
+            System.arraycopy(prices, 0, newPrices, 0, position);
+            System.arraycopy(ids, 0, newIds, 0, position);
+            System.arraycopy(prices, position + 1, newPrices, position, prices.length - position - 1);
+            System.arraycopy(ids, position + 1, newIds, position, ids.length - position - 1);
+            return new Block(newPrices, newIds);
+        }
+
+        Block slice(int from, int to) {
+            return new Block(Arrays.copyOfRange(prices, from, to), Arrays.copyOfRange(ids, from, to));
+        }
+
+        Block append(Block next) {
+            long[] newPrices = Arrays.copyOf(prices, prices.length + next.prices.length);
+            long[] newIds = Arrays.copyOf(ids, ids.length + next.ids.length);
+            System.arraycopy(next.prices, 0, newPrices, prices.length, next.prices.length);
+            System.arraycopy(next.ids, 0, newIds, ids.length, next.ids.length);
+            return new Block(newPrices, newIds);
+        }
+
+        /**
+         * First position whose (price, id) is not less than the given pair
+         */
+        int position(long price, long id) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (isLess(prices[mid], ids[mid], price, id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * First position with price >= value
+         */
+        int lowerBound(long value) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * First position with price > value
+         */
+        int upperBound(long value) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static boolean isLess(long price, long id, long otherPrice, long otherId) {
+        return price < otherPrice || (price == otherPrice && id < otherId);
+    }
+}
@@ -0,0 +1,53 @@
+package com.store.management.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Soft-deleted product moved out of the products table by the archive job
+ */
+@Entity
+@Table(name = "archived_products")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedProduct {
+    
+    // Keeps the ID the product had while it was live
+    @Id
+    private Long id;
+    
+    @Column(nullable = false, length = 100)
+    private String name;
+    
+    @Column(length = 500)
+    private String description;
+    
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal price;
+    
+    @Column(nullable = false, length = 50)
+    private String category;
+    
+    @Column(nullable = false)
+    private Integer stockQuantity;
+    
+    @Column(length = 50)
+    private String brand;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,40 @@
+package com.store.management.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order placed through checkout. Its lines are stored in order_lines; the stock they took is
+ * recorded in the ledger as SALE movements referencing the order.
+ */
+@Entity
+@Table(name = "orders",
+       indexes = @Index(name = "idx_orders_username_created_at", columnList = "username, created_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrder {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 50)
+    private String username;
+    
+    @Column(nullable = false)
+    private Integer lineCount;
+    
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
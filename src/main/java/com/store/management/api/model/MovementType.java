@@ -0,0 +1,37 @@
+package com.store.management.api.model;
+
+/**
+ * Kinds of stock movement in the ledger and the direction each moves stock
+ */
+public enum MovementType {
+    RECEIPT(1),
+    SALE(-1),
+    RESERVATION(-1),
+    RELEASE(1),
+    // Signed as given, for recounts and corrections
+    ADJUSTMENT(0);
+    
+    private final int sign;
+    
+    MovementType(int sign) {
+        this.sign = sign;
+    }
+    
+    /**
+     * Turns a requested quantity into the signed change to stock
+     * @param quantity Positive quantity, or any non-zero quantity for an adjustment
+     * @return Signed quantity
+     */
+    public int signed(int quantity) {
+        if (sign == 0) {
+            if (quantity == 0) {
+                throw new IllegalArgumentException("Adjustment quantity cannot be zero");
+            }
+            return quantity;
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than 0");
+        }
+        return sign * quantity;
+    }
+}
@@ -0,0 +1,44 @@
+package com.store.management.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One product line of an order, priced at checkout.
+ * IDs come from a pooled sequence so the lines of an order are inserted as one JDBC batch.
+ */
+@Entity
+@Table(name = "order_lines",
+       indexes = @Index(name = "idx_order_lines_order_id", columnList = "order_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLine {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_line_seq")
+    @SequenceGenerator(name = "order_line_seq", sequenceName = "order_line_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal unitPrice;
+    
+    // Ledger version of the SALE movement that took this line's stock
+    @Column(nullable = false)
+    private Long stockVersion;
+}
@@ -0,0 +1,53 @@
+package com.store.management.api.model;
+
+import com.store.management.api.event.ProductChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Product change waiting to be delivered to other systems.
+ * Written in the same transaction as the change and deleted once every sink has it. Identity IDs
+ * are handed out at insert time, so they follow the order a product's changes were committed in.
+ * Rows that keep failing are parked in place rather than deleted, for an operator to inspect and requeue.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long productId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ProductChangedEvent.ChangeType type;
+    
+    // JSON of the ProductChange delivered to sinks
+    @Column(nullable = false, length = 4000)
+    private String payload;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(length = 500)
+    private String lastError;
+    
+    // Set once the relay gives up on the row; parked rows are skipped until this is cleared
+    private LocalDateTime parkedAt;
+}
@@ -2,10 +2,15 @@ package com.store.management.api.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,7 +20,18 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products",
+       indexes = {
+           @Index(name = "idx_products_updated_at_id", columnList = "updated_at, id"),
+           @Index(name = "idx_products_active_category", columnList = "active, category"),
+           @Index(name = "idx_products_active_price", columnList = "active, price"),
+           @Index(name = "idx_products_active_stock_quantity", columnList = "active, stock_quantity")
+       })
+// Soft-deleted rows stay in the table until archived; every query only sees active ones
+@SQLRestriction("active = true")
+// Read far more often than written; bulk updates and native deletes of products evict the region
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @Builder(toBuilder = true)
@@ -47,9 +63,11 @@ public class Product {
     @Column(nullable = false, length = 50)
     private String category;
     
+    // Opening stock when built; afterwards only applyStockMovement changes it (see ProductStockGuard)
     @NotNull(message = "Stock quantity is required")
     @Min(value = 0, message = "Stock quantity cannot be negative")
     @Column(nullable = false)
+    @Setter(AccessLevel.NONE)
     private Integer stockQuantity;
     
     @Size(max = 50, message = "Brand cannot exceed 50 characters")
@@ -60,6 +78,17 @@ public class Product {
     @Column(nullable = false)
     private Boolean active = true;
     
+    // Number of stock movements applied; the version of the latest movement in the ledger
+    @Builder.Default
+    @Column(nullable = false)
+    @Setter(AccessLevel.NONE)
+    private Long stockVersion = 0L;
+    
+    // Incremented with every flushed change; orders change events that reach listeners out of commit order
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+    
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -106,7 +135,10 @@ public class Product {
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
     public Integer getStockQuantity() { return stockQuantity; }
-    public void setStockQuantity(Integer stockQuantity) { this.stockQuantity = stockQuantity; }
+    
+    public Long getStockVersion() { return stockVersion; }
+    
+    public Long getVersion() { return version; }
     
     // Business Methods
     public void changePrice(@NotNull(message = "Price is required") 
@@ -120,31 +152,33 @@ public class Product {
         this.updatedAt = LocalDateTime.now();
     }
     
-    public void updateStock(Integer newStock) {
-        if (newStock == null || newStock < 0) {
-            throw new IllegalArgumentException("Stock quantity cannot be negative");
+    /**
+     * Marks the stock the product was built with as the first movement of its ledger
+     * @return false if the ledger is already open or there is no opening stock to record
+     */
+    public boolean openStockLedger() {
+        if (this.stockVersion != 0 || this.stockQuantity == 0) {
+            return false;
         }
-        this.stockQuantity = newStock;
-        this.updatedAt = LocalDateTime.now();
-    }
-    
-    public void incrementStock(Integer amount) {
-        if (amount == null || amount < 0) {
-            throw new IllegalArgumentException("Amount to increment cannot be negative");
-        }
-        this.stockQuantity += amount;
-        this.updatedAt = LocalDateTime.now();
+        this.stockVersion = 1L;
+        return true;
     }
     
-    public void decrementStock(Integer amount) {
-        if (amount == null || amount < 0) {
-            throw new IllegalArgumentException("Amount to decrement cannot be negative");
-        }
-        if (this.stockQuantity < amount) {
+    /**
+     * Applies a stock movement to the projected stock quantity.
+     * Only StockLedgerService calls this, after locking the row, so every change has a ledger entry;
+     * ProductStockGuard refuses to flush a stock change that did not come with a new version.
+     * @param delta Signed quantity of the movement
+     * @return Version of the movement
+     */
+    public long applyStockMovement(int delta) {
+        if (this.stockQuantity + delta < 0) {
             throw new IllegalArgumentException("Insufficient stock quantity");
         }
-        this.stockQuantity -= amount;
+        this.stockQuantity += delta;
+        this.stockVersion += 1;
         this.updatedAt = LocalDateTime.now();
+        return this.stockVersion;
     }
     
     public boolean isInStock() {
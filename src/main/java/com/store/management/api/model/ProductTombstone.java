@@ -0,0 +1,32 @@
+package com.store.management.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted product, kept so incremental sync clients can see the delete
+ */
+@Entity
+@Table(name = "product_tombstones",
+       indexes = @Index(name = "idx_product_tombstones_deleted_at_product_id", columnList = "deleted_at, product_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductTombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long productId;
+    
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,46 @@
+package com.store.management.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Server-side record of an issued refresh token.
+ * Only a SHA-256 hash of the token is stored. Every token rotated from the same login shares a
+ * familyId, so presenting an already-used token revokes the whole family.
+ */
+@Entity
+@Table(name = "refresh_tokens",
+       indexes = @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(unique = true, nullable = false, length = 64)
+    private String tokenHash;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false, length = 36)
+    private String familyId;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    private LocalDateTime usedAt;
+    
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean revoked = false;
+}
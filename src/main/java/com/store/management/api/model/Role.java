@@ -9,12 +9,32 @@ public enum Role {
     ADMIN(3);
     
     private final int level;
+    // One bit per role, so a set of roles is an int and a role check is a bit test
+    private final int mask;
     
     Role(int level) {
         this.level = level;
+        this.mask = 1 << ordinal();
     }
     
     public int getLevel() {
         return level;
     }
+    
+    public int getMask() {
+        return mask;
+    }
+    
+    /**
+     * Combines roles into a bitmask
+     * @param roles Roles
+     * @return Bitwise OR of the roles' masks
+     */
+    public static int maskOf(Role... roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.mask;
+        }
+        return mask;
+    }
 }
\ No newline at end of file
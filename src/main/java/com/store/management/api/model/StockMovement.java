@@ -0,0 +1,50 @@
+package com.store.management.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only ledger entry for a change to a product's stock.
+ * Version numbers each product's movements 1, 2, 3...; the product's stockQuantity is the
+ * projection of all of them. IDs come from a pooled sequence so inserts can be JDBC-batched.
+ */
+@Entity
+@Table(name = "stock_movements",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stock_movements_product_id_version",
+                                             columnNames = {"product_id", "version"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovement {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movement_seq")
+    @SequenceGenerator(name = "stock_movement_seq", sequenceName = "stock_movement_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MovementType type;
+    
+    // Signed change to stock
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(length = 100)
+    private String reference;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
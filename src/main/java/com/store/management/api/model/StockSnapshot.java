@@ -0,0 +1,40 @@
+package com.store.management.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A product's stock as of a ledger version, so rebuilding it only replays later movements
+ */
+@Entity
+@Table(name = "stock_snapshots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stock_snapshots_product_id_version",
+                                             columnNames = {"product_id", "version"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_snapshot_seq")
+    @SequenceGenerator(name = "stock_snapshot_seq", sequenceName = "stock_snapshot_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
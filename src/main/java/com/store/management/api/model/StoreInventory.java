@@ -0,0 +1,51 @@
+package com.store.management.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Stock of one product at one store.
+ * Rows are kept narrow and keyed by (product, store) so a product's stock across all stores is a
+ * primary key range, and a store's listing and its low-stock range are ranges of the two store indexes.
+ */
+@Entity
+@Table(name = "store_inventory",
+       indexes = {
+           @Index(name = "idx_store_inventory_store_product", columnList = "store_id, product_id"),
+           @Index(name = "idx_store_inventory_store_quantity", columnList = "store_id, quantity")
+       })
+@IdClass(StoreInventory.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreInventory {
+    
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Id
+    @Column(name = "store_id")
+    private Long storeId;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private Long storeId;
+    }
+}
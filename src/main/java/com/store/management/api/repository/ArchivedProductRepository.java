@@ -0,0 +1,24 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.model.ArchivedProduct;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedProductRepository extends JpaRepository<ArchivedProduct, Long> {
+    
+    // Copies rows server-side in one statement instead of loading them as entities
+    @Modifying
+    @Query(value = "INSERT INTO archived_products "
+                 + "(id, name, description, price, category, stock_quantity, brand, created_at, updated_at, archived_at) "
+                 + "SELECT id, name, description, price, category, stock_quantity, brand, created_at, updated_at, :archivedAt "
+                 + "FROM products WHERE id IN (:ids) AND active = false",
+           nativeQuery = true)
+    int copyFromProducts(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,9 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.model.CustomerOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerOrderRepository extends JpaRepository<CustomerOrder, Long> {
+}
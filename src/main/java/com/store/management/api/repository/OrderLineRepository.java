@@ -0,0 +1,13 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.model.OrderLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
+    
+    List<OrderLine> findByOrderIdOrderByProductId(Long orderId);
+}
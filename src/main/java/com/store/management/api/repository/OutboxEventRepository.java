@@ -0,0 +1,41 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // Oldest first; rows younger than the settle window may still have lower IDs in flight
+    @Query("SELECT o FROM OutboxEvent o WHERE o.parkedAt IS NULL AND o.createdAt <= :settledBefore ORDER BY o.id")
+    List<OutboxEvent> findSettled(@Param("settledBefore") LocalDateTime settledBefore, Pageable pageable);
+    
+    @Query("SELECT DISTINCT o.productId FROM OutboxEvent o WHERE o.parkedAt IS NOT NULL AND o.productId IN :productIds")
+    List<Long> findParkedProductIds(@Param("productIds") Collection<Long> productIds);
+    
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.attempts = o.attempts + 1, o.lastError = :error WHERE o.id IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error);
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.parkedAt = :parkedAt WHERE o.id IN :ids AND o.attempts >= :maxAttempts")
+    int parkExhausted(@Param("ids") Collection<Long> ids, @Param("maxAttempts") int maxAttempts,
+                      @Param("parkedAt") LocalDateTime parkedAt);
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.parkedAt = :parkedAt WHERE o.id IN :ids")
+    int park(@Param("ids") Collection<Long> ids, @Param("parkedAt") LocalDateTime parkedAt);
+}
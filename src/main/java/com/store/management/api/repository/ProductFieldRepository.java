@@ -0,0 +1,22 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.dto.ProductField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Product queries whose select list is built from the fields a client asked for,
+ * so unrequested columns such as the description are never read
+ */
+public interface ProductFieldRepository {
+    
+    Page<Map<String, Object>> findAllFields(Set<ProductField> fields, Pageable pageable);
+    
+    List<Map<String, Object>> findFieldsByNameContainingIgnoreCase(String name, Set<ProductField> fields);
+    
+    List<Map<String, Object>> findFieldsByCategory(String category, Set<ProductField> fields);
+}
@@ -0,0 +1,100 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.dto.ProductField;
+import com.store.management.api.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Criteria tuple queries selecting one column per requested field, in the field order
+ */
+@RequiredArgsConstructor
+public class ProductFieldRepositoryImpl implements ProductFieldRepository {
+    
+    private final EntityManager entityManager;
+    
+    @Override
+    public Page<Map<String, Object>> findAllFields(Set<ProductField> fields, Pageable pageable) {
+        List<Map<String, Object>> content = find(fields, null, pageable, false);
+        return PageableExecutionUtils.getPage(content, pageable, this::count);
+    }
+    
+    @Override
+    public List<Map<String, Object>> findFieldsByNameContainingIgnoreCase(String name, Set<ProductField> fields) {
+        String pattern = "%" + EscapeCharacter.DEFAULT.escape(name.toUpperCase()) + "%";
+        return find(fields, (builder, product) ->
+            builder.like(builder.upper(product.get("name")), pattern, EscapeCharacter.DEFAULT.getEscapeCharacter()),
+            Pageable.unpaged(), false);
+    }
+    
+    @Override
+    public List<Map<String, Object>> findFieldsByCategory(String category, Set<ProductField> fields) {
+        // Cached like findByCategory; the query cache keeps the tuples, not entities
+        return find(fields, (builder, product) -> builder.equal(product.get("category"), category),
+            Pageable.unpaged(), true);
+    }
+    
+    private List<Map<String, Object>> find(Set<ProductField> fields,
+                                           BiFunction<CriteriaBuilder, Root<Product>, Predicate> filter,
+                                           Pageable pageable,
+                                           boolean cacheable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        query.multiselect(fields.stream()
+            .<Selection<?>>map(field -> product.get(field.getName()).alias(field.getName()))
+            .toList());
+        if (filter != null) {
+            query.where(filter.apply(builder, product));
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), product, builder));
+        }
+        
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        if (cacheable) {
+            typedQuery.setHint(HibernateHints.HINT_CACHEABLE, true);
+        }
+        return typedQuery.getResultList().stream()
+            .map(tuple -> toMap(tuple, fields))
+            .toList();
+    }
+    
+    private long count() {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        query.select(builder.count(query.from(Product.class)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+    
+    private static Map<String, Object> toMap(Tuple tuple, Set<ProductField> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (ProductField field : fields) {
+            selected.put(field.getName(), tuple.get(field.getName()));
+        }
+        return selected;
+    }
+}
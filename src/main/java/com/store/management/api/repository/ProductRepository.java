@@ -1,20 +1,35 @@
 package com.store.management.api.repository;
 
+import com.store.management.api.dto.CatalogRow;
+import com.store.management.api.dto.ProductColumns;
+import com.store.management.api.dto.ProductFacetValues;
+import com.store.management.api.dto.ProductPrice;
 import com.store.management.api.model.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductFieldRepository {
     
     List<Product> findByNameContainingIgnoreCase(String name);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Product> findByCategory(String category);
     
     List<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
@@ -23,7 +38,62 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     Optional<Product> findByNameAndCategory(String name, String category);
     
+    @Query("SELECT p.id AS id, p.price AS price, p.version AS version FROM Product p")
+    List<ProductPrice> findAllPrices();
+    
+    @Query("SELECT p.id AS id, p.category AS category, p.brand AS brand, p.price AS price, "
+         + "p.stockQuantity AS stockQuantity, p.version AS version FROM Product p")
+    List<ProductFacetValues> findAllFacetValues();
+    
+    @Query("SELECT p.id AS id, p.price AS price, p.stockQuantity AS stockQuantity, p.category AS category "
+         + "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductColumns> findColumnsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Same keyset page as findChangedAfter, with only the columns the catalog indexes are built from
+    @Query("SELECT p.id AS id, p.price AS price, p.stockQuantity AS stockQuantity, p.category AS category, "
+         + "p.brand AS brand, p.updatedAt AS updatedAt, p.version AS version FROM Product p "
+         + "WHERE (p.updatedAt > :after OR (p.updatedAt = :after AND p.id > :afterId)) "
+         + "AND p.updatedAt <= :until ORDER BY p.updatedAt, p.id")
+    List<CatalogRow> findCatalogRowsChangedAfter(@Param("after") LocalDateTime after,
+                                                 @Param("afterId") Long afterId,
+                                                 @Param("until") LocalDateTime until,
+                                                 Pageable pageable);
+    
+    // Keyset page over (updatedAt, id), served by idx_products_updated_at_id
+    @Query("SELECT p FROM Product p "
+         + "WHERE (p.updatedAt > :after OR (p.updatedAt = :after AND p.id > :afterId)) "
+         + "AND p.updatedAt <= :until ORDER BY p.updatedAt, p.id")
+    List<Product> findChangedAfter(@Param("after") LocalDateTime after,
+                                   @Param("afterId") Long afterId,
+                                   @Param("until") LocalDateTime until,
+                                   Pageable pageable);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+    
+    // Rows are locked in ID order so concurrent multi-product writers cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
+    // Soft delete: one UPDATE, no prior SELECT of the entity
+    @Modifying
+    @Query("UPDATE Product p SET p.active = false, p.updatedAt = :now WHERE p.id = :id AND p.active = true")
+    int deactivate(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    // Native so the active = true restriction on Product does not hide the rows being archived
+    @Query(value = "SELECT id FROM products WHERE active = false ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findInactiveIds(@Param("limit") int limit);
+    
+    // The query space limits second-level cache eviction to the Product region
+    @Modifying
+    @Query(value = "DELETE FROM products WHERE id IN (:ids) AND active = false", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products"))
+    int deleteInactiveByIdIn(@Param("ids") List<Long> ids);
+    
     @Query("SELECT DISTINCT p.category FROM Product p ORDER BY p.category")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<String> findAllCategories();
     
     @Query("SELECT p FROM Product p WHERE p.price >= :minPrice ORDER BY p.price")
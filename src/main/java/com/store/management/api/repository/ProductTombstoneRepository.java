@@ -0,0 +1,29 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.model.ProductTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+    
+    // Keyset page over (deletedAt, productId), served by idx_product_tombstones_deleted_at_product_id
+    @Query("SELECT t FROM ProductTombstone t "
+         + "WHERE (t.deletedAt > :after OR (t.deletedAt = :after AND t.productId > :afterProductId)) "
+         + "AND t.deletedAt <= :until ORDER BY t.deletedAt, t.productId")
+    List<ProductTombstone> findDeletedAfter(@Param("after") LocalDateTime after,
+                                            @Param("afterProductId") Long afterProductId,
+                                            @Param("until") LocalDateTime until,
+                                            Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM ProductTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
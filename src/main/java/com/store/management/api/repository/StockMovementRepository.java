@@ -0,0 +1,27 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.dto.LedgerTail;
+import com.store.management.api.model.StockMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+    
+    @Query("SELECT m FROM StockMovement m WHERE m.productId = :productId AND m.version > :afterVersion "
+         + "ORDER BY m.version")
+    List<StockMovement> findByProductAfter(@Param("productId") Long productId,
+                                           @Param("afterVersion") Long afterVersion,
+                                           Pageable pageable);
+    
+    // Replays the tail after a snapshot: sum and count of the movements after a version
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) AS quantity, COUNT(m) AS movements, "
+         + "COALESCE(MAX(m.version), :afterVersion) AS version "
+         + "FROM StockMovement m WHERE m.productId = :productId AND m.version > :afterVersion")
+    LedgerTail sumAfter(@Param("productId") Long productId, @Param("afterVersion") Long afterVersion);
+}
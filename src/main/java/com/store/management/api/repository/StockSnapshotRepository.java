@@ -0,0 +1,13 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.model.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+    
+    Optional<StockSnapshot> findFirstByProductIdOrderByVersionDesc(Long productId);
+}
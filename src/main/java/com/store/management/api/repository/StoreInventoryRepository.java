@@ -0,0 +1,66 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.dto.StockSummaryRow;
+import com.store.management.api.dto.StoreStockRow;
+import com.store.management.api.model.StoreInventory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StoreInventoryRepository extends JpaRepository<StoreInventory, StoreInventory.Key> {
+    
+    // Keyset page over the (store_id, product_id) index
+    @Query("SELECT i FROM StoreInventory i WHERE i.storeId = :storeId AND i.productId > :afterProductId "
+         + "ORDER BY i.productId")
+    List<StoreInventory> findByStoreAfter(@Param("storeId") Long storeId,
+                                          @Param("afterProductId") Long afterProductId,
+                                          Pageable pageable);
+    
+    // Range scan over the (store_id, quantity) index
+    @Query("SELECT i FROM StoreInventory i WHERE i.storeId = :storeId AND i.quantity < :threshold "
+         + "ORDER BY i.quantity, i.productId")
+    List<StoreInventory> findLowStock(@Param("storeId") Long storeId,
+                                      @Param("threshold") Integer threshold,
+                                      Pageable pageable);
+    
+    @Query("SELECT i.storeId AS storeId, s.code AS storeCode, s.name AS storeName, "
+         + "s.latitude AS latitude, s.longitude AS longitude, i.quantity AS quantity, i.updatedAt AS updatedAt "
+         + "FROM StoreInventory i JOIN Store s ON s.id = i.storeId "
+         + "WHERE i.productId = :productId ORDER BY i.storeId")
+    List<StoreStockRow> findStockByProduct(@Param("productId") Long productId);
+    
+    @Query("SELECT i.storeId AS storeId, s.code AS storeCode, s.name AS storeName, "
+         + "s.latitude AS latitude, s.longitude AS longitude, i.quantity AS quantity, i.updatedAt AS updatedAt "
+         + "FROM StoreInventory i JOIN Store s ON s.id = i.storeId "
+         + "WHERE i.productId = :productId AND i.quantity >= :minQuantity "
+         + "AND s.latitude BETWEEN :minLatitude AND :maxLatitude "
+         + "AND s.longitude BETWEEN :minLongitude AND :maxLongitude")
+    List<StoreStockRow> findStockByProductWithin(@Param("productId") Long productId,
+                                                 @Param("minQuantity") Integer minQuantity,
+                                                 @Param("minLatitude") Double minLatitude,
+                                                 @Param("maxLatitude") Double maxLatitude,
+                                                 @Param("minLongitude") Double minLongitude,
+                                                 @Param("maxLongitude") Double maxLongitude);
+    
+    @Query("SELECT i.productId AS productId, SUM(i.quantity) AS totalQuantity, COUNT(i) AS storeCount, "
+         + "SUM(CASE WHEN i.quantity > 0 THEN 1 ELSE 0 END) AS storesInStock "
+         + "FROM StoreInventory i WHERE i.productId IN :productIds GROUP BY i.productId")
+    List<StockSummaryRow> summarizeByProductIdIn(@Param("productIds") Collection<Long> productIds);
+    
+    // Applies a delta in place so concurrent adjustments never lose updates or go negative
+    @Modifying
+    @Query("UPDATE StoreInventory i SET i.quantity = i.quantity + :delta, i.updatedAt = :now "
+         + "WHERE i.storeId = :storeId AND i.productId = :productId AND i.quantity + :delta >= 0")
+    int adjustQuantity(@Param("storeId") Long storeId,
+                       @Param("productId") Long productId,
+                       @Param("delta") Integer delta,
+                       @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,22 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.model.Store;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StoreRepository extends JpaRepository<Store, Long> {
+    
+    boolean existsByCode(String code);
+    
+    // Serializes creating the first stock row of a product at the store
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Store s WHERE s.id = :id")
+    Optional<Store> findByIdForUpdate(@Param("id") Long id);
+}
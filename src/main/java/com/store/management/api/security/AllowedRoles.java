@@ -0,0 +1,21 @@
+package com.store.management.api.security;
+
+import com.store.management.api.model.Role;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Roles allowed to call a controller method (or every method of a controller).
+ * Read once at startup into the table RoleAuthorizationInterceptor checks requests against.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AllowedRoles {
+    
+    Role[] value();
+}
@@ -0,0 +1,247 @@
+package com.store.management.api.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.api.exception.ErrorResponse;
+import com.store.management.api.model.User;
+import com.store.management.api.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Makes product, store, stock and order writes safe to retry: a POST, PUT or DELETE under /api/products,
+ * /api/stores, /api/stock or /api/orders with an Idempotency-Key header executes once per caller and key, and
+ * retries get the stored response, headers included, with an Idempotent-Replayed header. Server errors are not stored, so they can be retried.
+ * Not a bean, so it only runs inside the security chain, after authentication.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+    
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int STORE_FULL_RETRY_AFTER_SECONDS = 1;
+    private static final Set<String> NOT_REPLAYED_HEADERS = Set.of("content-type", "content-length", "transfer-encoding");
+    
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getServletPath();
+        boolean write = HttpMethod.POST.matches(method) || HttpMethod.PUT.matches(method) || HttpMethod.DELETE.matches(method);
+        return !write
+            || !(isUnder(path, "/api/products") || isUnder(path, "/api/stores") || isUnder(path, "/api/stock")
+                || isUnder(path, "/api/orders"))
+            || path.equals("/api/products/batch-get")
+            || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+    
+    private static boolean isUnder(String path, String prefix) {
+        return path.equals(prefix) || path.startsWith(prefix + "/");
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        
+        String callerKey = callerKey();
+        if (callerKey == null) {
+            // Unauthenticated writes are rejected further down the chain; nothing worth storing
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+        String fingerprint = request.getMethod() + ' ' + request.getServletPath() + '?' + request.getQueryString()
+            + ' ' + sha256(body);
+        
+        try {
+            idempotencyStore.execute(callerKey + '|' + key, fingerprint, new IdempotencyStore.Handler() {
+                @Override
+                public void execute(IdempotencyStore.Claim claim) {
+                    ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+                    try {
+                        filterChain.doFilter(cachedRequest, cachingResponse);
+                        if (cachingResponse.getStatus() < 500) {
+                            claim.complete(new IdempotencyStore.StoredResponse(cachingResponse.getStatus(),
+                                cachingResponse.getContentType(), replayedHeaders(cachingResponse),
+                                cachingResponse.getContentAsByteArray()));
+                        } else {
+                            claim.abandon();
+                        }
+                        cachingResponse.copyBodyToResponse();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (ServletException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                
+                @Override
+                public void replay(IdempotencyStore.StoredResponse stored) {
+                    log.debug("Replaying stored response for {}: {}", IDEMPOTENCY_KEY_HEADER, key);
+                    response.setStatus(stored.status());
+                    response.setHeader(REPLAYED_HEADER, "true");
+                    if (stored.contentType() != null) {
+                        response.setContentType(stored.contentType());
+                    }
+                    stored.headers().forEach((name, values) -> {
+                        response.setHeader(name, values.get(0));
+                        values.subList(1, values.size()).forEach(value -> response.addHeader(name, value));
+                    });
+                    try {
+                        response.getOutputStream().write(stored.body());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (IdempotencyStore.KeyReuseException e) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        } catch (IdempotencyStore.InProgressException e) {
+            writeError(request, response, HttpStatus.CONFLICT, e.getMessage());
+        } catch (IdempotencyStore.StoreFullException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(STORE_FULL_RETRY_AFTER_SECONDS));
+            writeError(request, response, HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof ServletException servletException) {
+                throw servletException;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Headers the handler set that a replay must repeat; content type and length are written separately
+     */
+    private static Map<String, List<String>> replayedHeaders(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!NOT_REPLAYED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                List<String> values = List.copyOf(response.getHeaders(name));
+                if (!values.isEmpty()) {
+                    headers.put(name, values);
+                }
+            }
+        }
+        return headers;
+    }
+    
+    private static String callerKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return "user:" + user.getId();
+        }
+        return null;
+    }
+    
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+            .timestamp(Instant.now())
+            .status(status.value())
+            .error(status.getReasonPhrase())
+            .message(message)
+            .path(request.getServletPath())
+            .build();
+        
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+    
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Request whose body was read up front so it can be both fingerprinted and handled
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+                
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+                
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Async reads are not supported");
+                }
+            };
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.store.management.api.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.store.management.api.exception.LogThrottle;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -11,6 +13,7 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,13 +22,24 @@ import java.util.Map;
 @Slf4j
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
     
+    // Shared, thread-safe writer: building an ObjectMapper per 401 costs more than the response itself
+    private final ObjectWriter writer;
+    private final LogThrottle logThrottle = new LogThrottle(10, Duration.ofSeconds(10));
+    
+    public JwtAuthenticationEntryPoint(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer();
+    }
+    
     @Override
     public void commence(
             HttpServletRequest request, 
             HttpServletResponse response,
             AuthenticationException authException) throws IOException, ServletException {
         
-        log.error("Unauthorized error: {}", authException.getMessage());
+        if (logThrottle.tryAcquire()) {
+            log.warn("Unauthorized error: {} ({} similar messages suppressed)",
+                authException.getMessage(), logThrottle.drainSuppressed());
+        }
         
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -37,7 +51,6 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
         body.put("path", request.getServletPath());
         body.put("timestamp", Instant.now().toString());
         
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.writeValue(response.getOutputStream(), body);
+        writer.writeValue(response.getOutputStream(), body);
     }
-}
\ No newline at end of file
+}
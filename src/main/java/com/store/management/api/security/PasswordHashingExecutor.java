@@ -0,0 +1,127 @@
+package com.store.management.api.security;
+
+import com.store.management.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs password hashing on a fixed pool sized to the CPU count with a bounded queue.
+ * During a login storm at most threads + queue-capacity servlet threads wait on hashing;
+ * further logins are shed with 429 instead of starving every other request of CPU and threads.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+    
+    private static final String METRIC_PREFIX = "auth.password.hashing";
+    // $2a$10$..., $2b$ and $2y$ alike: the two cost digits follow the version
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    
+    private final PasswordEncoder passwordEncoder;
+    private final int bcryptStrength;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Counter rejectedCounter;
+    
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+                                   @Value("${security.password.hashing.threads:0}") int threads,
+                                   @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${security.password.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.bcryptStrength = bcryptStrength;
+        this.retryAfterSeconds = retryAfterSeconds;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.rejectedCounter = meterRegistry.counter(METRIC_PREFIX + ".rejected");
+        meterRegistry.gauge(METRIC_PREFIX + ".queued", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+    
+    /**
+     * Verifies a password on the hashing pool
+     * @param rawPassword Password from the client
+     * @param encodedPassword Stored hash
+     * @return Whether the password matches
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+    
+    /**
+     * Hashes a password on the hashing pool at the configured cost
+     * @param rawPassword Password to hash
+     * @return Encoded password
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+    
+    /**
+     * Whether a stored hash was made at a cost other than the configured one, higher or lower,
+     * so that both raising and lowering security.password.bcrypt-strength reach existing users
+     * @param encodedPassword Stored hash
+     * @return true if the hash should be recomputed
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != bcryptStrength;
+    }
+    
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing queue full, shedding login");
+            throw new TooManyRequestsException("Too many concurrent logins, retry shortly", retryAfterSeconds);
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
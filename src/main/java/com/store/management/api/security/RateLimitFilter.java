@@ -0,0 +1,76 @@
+package com.store.management.api.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.api.exception.ErrorResponse;
+import com.store.management.api.model.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies RateLimiter rules after JWT authentication, keyed by user ID for authenticated
+ * callers and by client IP otherwise. Not a bean, so it only runs inside the security chain.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User user = authentication != null && authentication.getPrincipal() instanceof User principal ? principal : null;
+        
+        RateLimiter.CompiledRule rule = rateLimiter.findRule(request.getMethod(), request.getServletPath(),
+            user != null ? authentication.getAuthorities() : List.of());
+        if (rule != null) {
+            String clientKey = user != null ? "user:" + user.getId() : "ip:" + request.getRemoteAddr();
+            long waitNanos = rateLimiter.tryAcquire(rule, clientKey);
+            if (waitNanos > 0) {
+                reject(request, response, rule, clientKey, waitNanos);
+                return;
+            }
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        RateLimiter.CompiledRule rule, String clientKey, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.warn("Rate limit {} exceeded by {}, retry after {} s", rule.getName(), clientKey, retryAfterSeconds);
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+            .timestamp(Instant.now())
+            .status(HttpStatus.TOO_MANY_REQUESTS.value())
+            .error("Too Many Requests")
+            .message("Rate limit exceeded, retry after " + retryAfterSeconds + " seconds")
+            .path(request.getServletPath())
+            .build();
+        
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
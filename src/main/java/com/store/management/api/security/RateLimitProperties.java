@@ -0,0 +1,46 @@
+package com.store.management.api.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit rules, checked in order; the first rule matching the request path, method and
+ * caller role applies. Requests that match no rule are not limited.
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+    
+    private boolean enabled = true;
+    
+    /** How often buckets that have refilled completely are dropped */
+    private long evictionIntervalMs = 60_000;
+    
+    private List<Rule> rules = new ArrayList<>();
+    
+    @Data
+    public static class Rule {
+        
+        private String name;
+        
+        /** Path pattern, e.g. /api/products/search or /api/** */
+        private String path;
+        
+        /** HTTP method, or null for any */
+        private String method;
+        
+        /** Roles (without the ROLE_ prefix) the rule applies to, or empty for any caller */
+        private List<String> roles = new ArrayList<>();
+        
+        /** Burst size: requests allowed back to back from a full bucket */
+        private int capacity;
+        
+        /** Sustained rate the bucket refills at */
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,160 @@
+package com.store.management.api.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-process token bucket rate limiter.
+ * Each bucket is a single AtomicLong holding its theoretical arrival time (the generic cell
+ * rate algorithm): admitting a request is one compare-and-set, with no locks and no timer
+ * to refill tokens. A bucket whose arrival time has passed is full, which makes it
+ * indistinguishable from a new one, so such buckets are evicted periodically.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+    
+    private static final String METRIC_NAME = "http.rate_limit.requests";
+    
+    private final boolean enabled;
+    private final List<CompiledRule> rules;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.rules = properties.getRules().stream()
+            .map(rule -> new CompiledRule(rule, meterRegistry))
+            .toList();
+        meterRegistry.gaugeMapSize("http.rate_limit.buckets", List.of(), buckets);
+    }
+    
+    /**
+     * Rule in effect for a request, with its interval and tolerance precomputed in nanoseconds
+     */
+    public static final class CompiledRule {
+        
+        private final String name;
+        private final PathPattern pattern;
+        private final String method;
+        private final Set<String> authorities;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final Counter allowedCounter;
+        private final Counter rejectedCounter;
+        
+        CompiledRule(RateLimitProperties.Rule rule, MeterRegistry meterRegistry) {
+            if (rule.getCapacity() < 1 || rule.getRefillPerSecond() <= 0) {
+                throw new IllegalArgumentException(
+                    "Rate limit rule " + rule.getName() + " needs a positive capacity and refill rate");
+            }
+            this.name = rule.getName();
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.getPath());
+            this.method = rule.getMethod();
+            this.authorities = rule.getRoles().stream()
+                .map(role -> "ROLE_" + role)
+                .collect(Collectors.toUnmodifiableSet());
+            this.intervalNanos = (long) (1_000_000_000L / rule.getRefillPerSecond());
+            this.toleranceNanos = intervalNanos * rule.getCapacity();
+            this.allowedCounter = meterRegistry.counter(METRIC_NAME, "rule", name, "outcome", "allowed");
+            this.rejectedCounter = meterRegistry.counter(METRIC_NAME, "rule", name, "outcome", "rejected");
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        boolean matches(String requestMethod, PathContainer path, Collection<? extends GrantedAuthority> callerAuthorities) {
+            if (method != null && !method.equalsIgnoreCase(requestMethod)) {
+                return false;
+            }
+            if (!pattern.matches(path)) {
+                return false;
+            }
+            if (authorities.isEmpty()) {
+                return true;
+            }
+            for (GrantedAuthority authority : callerAuthorities) {
+                if (authorities.contains(authority.getAuthority())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * Finds the first rule that applies to a request
+     * @param method HTTP method
+     * @param path Request path without context path
+     * @param authorities Caller authorities, empty when unauthenticated
+     * @return Matching rule, or null when the request is not limited
+     */
+    public CompiledRule findRule(String method, String path, Collection<? extends GrantedAuthority> authorities) {
+        if (!enabled || rules.isEmpty()) {
+            return null;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (CompiledRule rule : rules) {
+            if (rule.matches(method, pathContainer, authorities)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Takes one token from a caller's bucket for a rule
+     * @param rule Rule in effect
+     * @param clientKey Caller identity, e.g. "user:42" or "ip:10.0.0.1"
+     * @return 0 if the request is admitted, otherwise nanoseconds until it would be
+     */
+    public long tryAcquire(CompiledRule rule, String clientKey) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.computeIfAbsent(rule.name + '|' + clientKey, key -> new AtomicLong(now));
+        while (true) {
+            long arrival = bucket.get();
+            long next = (arrival - now < 0 ? now : arrival) + rule.intervalNanos;
+            long wait = next - now - rule.toleranceNanos;
+            if (wait > 0) {
+                rule.rejectedCounter.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                rule.allowedCounter.increment();
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Drops buckets that have refilled completely.
+     * A request racing with the removal may land in the dropped bucket; the caller's next
+     * request then starts from a full bucket, which is what the removed one held anyway.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        log.debug("Evicted {} idle rate limit buckets, {} remain", before - buckets.size(), buckets.size());
+    }
+    
+    int bucketCount() {
+        return buckets.size();
+    }
+}
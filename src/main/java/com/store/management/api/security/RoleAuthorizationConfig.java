@@ -0,0 +1,21 @@
+package com.store.management.api.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs the role check on every controller request, after the filter chain has authenticated the caller
+ */
+@Configuration
+@RequiredArgsConstructor
+public class RoleAuthorizationConfig implements WebMvcConfigurer {
+    
+    private final RoleAuthorizationInterceptor roleAuthorizationInterceptor;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(roleAuthorizationInterceptor);
+    }
+}
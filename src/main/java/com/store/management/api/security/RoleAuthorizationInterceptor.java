@@ -0,0 +1,158 @@
+package com.store.management.api.security;
+
+import com.store.management.api.model.Role;
+import com.store.management.api.model.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The one place controller endpoints are authorized.
+ * At startup every handler method's @AllowedRoles is resolved into a role bitmask, so a request
+ * costs one map lookup and a bit test against the caller's role instead of a SpEL evaluation.
+ * Only handlers mapped outside /api/** or under /api/auth/** (login, refresh) may go without the
+ * annotation and are left to the security filter chain; startup fails on any other unannotated
+ * handler, and a handler missing from the table is denied.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleAuthorizationInterceptor implements HandlerInterceptor, SmartInitializingSingleton {
+    
+    private static final PathPattern API = PathPatternParser.defaultInstance.parse("/api/**");
+    private static final PathPattern PUBLIC_API = PathPatternParser.defaultInstance.parse("/api/auth/**");
+    
+    private static final Map<String, Role> ROLES_BY_AUTHORITY = Arrays.stream(Role.values())
+        .collect(Collectors.toUnmodifiableMap(role -> "ROLE_" + role.name(), Function.identity()));
+    
+    private final ApplicationContext applicationContext;
+    
+    private volatile Map<Method, Integer> allowedMasks = Map.of();
+    
+    private volatile Set<Method> publicMethods = Set.of();
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        RequestMappingHandlerMapping handlerMapping =
+            applicationContext.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        index(handlerMapping.getHandlerMethods());
+    }
+    
+    /**
+     * Builds the endpoint to allowed-roles table
+     * @param handlerMethods Controller methods by the requests they are mapped to
+     * @throws IllegalStateException if an API handler outside /api/auth/** has no @AllowedRoles
+     */
+    void index(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+        Map<Method, Integer> masks = new HashMap<>();
+        Set<Method> unannotated = new HashSet<>();
+        List<String> unprotected = new ArrayList<>();
+        handlerMethods.forEach((mapping, handlerMethod) -> {
+            AllowedRoles allowedRoles = handlerMethod.getMethodAnnotation(AllowedRoles.class);
+            if (allowedRoles == null) {
+                allowedRoles = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), AllowedRoles.class);
+            }
+            if (allowedRoles != null) {
+                masks.put(handlerMethod.getMethod(), Role.maskOf(allowedRoles.value()));
+            } else if (isPublic(mapping)) {
+                unannotated.add(handlerMethod.getMethod());
+            } else {
+                unprotected.add(mapping + " -> " + handlerMethod.getShortLogMessage());
+            }
+        });
+        if (!unprotected.isEmpty()) {
+            throw new IllegalStateException("API endpoints without @AllowedRoles: " + unprotected);
+        }
+        allowedMasks = Map.copyOf(masks);
+        publicMethods = Set.copyOf(unannotated);
+        log.info("Resolved allowed roles for {} of {} endpoints", masks.size(), handlerMethods.size());
+    }
+    
+    /**
+     * Whether a mapping may go without @AllowedRoles: every path is under /api/auth/** or outside /api/**
+     * @param mapping Request mapping of a handler
+     * @return true if the security filter chain alone guards it
+     */
+    private static boolean isPublic(RequestMappingInfo mapping) {
+        Set<String> patterns = mapping.getPatternValues();
+        if (patterns.isEmpty()) {
+            // Mapped to every path
+            return false;
+        }
+        for (String pattern : patterns) {
+            PathContainer path = PathContainer.parsePath(pattern);
+            if (API.matches(path) && !PUBLIC_API.matches(path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Integer allowed = allowedMasks.get(handlerMethod.getMethod());
+        if (allowed == null) {
+            if (publicMethods.contains(handlerMethod.getMethod())) {
+                return true;
+            }
+            // Not in the table built at startup, so nobody has said who may call it
+            throw new AccessDeniedException("Access denied");
+        }
+        if ((grantedMask(SecurityContextHolder.getContext().getAuthentication()) & allowed) == 0) {
+            throw new AccessDeniedException("Access denied");
+        }
+        return true;
+    }
+    
+    /**
+     * Role bitmask of the caller; read straight off the role of our own principal
+     * @param authentication Current authentication, may be null
+     * @return Bitmask of the caller's roles, 0 if not authenticated
+     */
+    static int grantedMask(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return 0;
+        }
+        if (authentication.getPrincipal() instanceof User user) {
+            return user.getRole().getMask();
+        }
+        int mask = 0;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            Role role = ROLES_BY_AUTHORITY.get(authority.getAuthority());
+            if (role != null) {
+                mask |= role.getMask();
+            }
+        }
+        return mask;
+    }
+}
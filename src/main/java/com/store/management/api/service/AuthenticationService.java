@@ -2,8 +2,10 @@ package com.store.management.api.service;
 
 import com.store.management.api.dto.AuthResponse;
 import com.store.management.api.dto.LoginRequest;
+import com.store.management.api.dto.RefreshTokenRequest;
 import com.store.management.api.model.User;
 import com.store.management.api.repository.UserRepository;
+import com.store.management.api.security.PasswordHashingExecutor;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
@@ -12,7 +14,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
@@ -26,7 +27,8 @@ import java.util.Date;
 public class AuthenticationService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
     
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -40,21 +42,53 @@ public class AuthenticationService {
         User user = userRepository.findByUsername(request.username())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + request.username()));
         
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (!passwordHashingExecutor.matches(request.password(), user.getPassword())) {
             log.warn("Invalid password attempt for user: {}", request.username());
             throw new BadCredentialsException("Invalid credentials");
         }
         
-        String token = generateToken(user);
+        // Hashing cost was changed since this password was stored: rehash while we have the plain text
+        if (passwordHashingExecutor.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingExecutor.encode(request.password()));
+            userRepository.save(user);
+            log.info("Rehashed password for user: {} at the current cost", user.getUsername());
+        }
         
         log.info("Successfully authenticated user: {} with role: {}", user.getUsername(), user.getRole());
         
+        return buildAuthResponse(user, refreshTokenService.issue(user));
+    }
+    
+    /**
+     * Exchanges a refresh token for a new access token and refresh token, without a password check
+     * @param request Refresh token from a previous login or refresh
+     * @return New token pair
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.refreshToken());
+        
+        log.debug("Refreshed tokens for user: {}", rotation.user().getUsername());
+        
+        return buildAuthResponse(rotation.user(), rotation.refreshToken());
+    }
+    
+    /**
+     * Revokes a refresh token and every token rotated from the same login
+     * @param request Refresh token to revoke
+     */
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.refreshToken());
+    }
+    
+    private AuthResponse buildAuthResponse(User user, String refreshToken) {
         return new AuthResponse(
-                token,
+                generateToken(user),
                 "Bearer",
                 jwtExpiration,
                 user.getUsername(),
-                user.getRole().name()
+                user.getRole().name(),
+                refreshToken,
+                refreshTokenService.getRefreshExpiration()
         );
     }
     
@@ -0,0 +1,187 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.CatalogRow;
+import com.store.management.api.dto.ChangeCursor;
+import com.store.management.api.event.ProductChangedEvent;
+import com.store.management.api.index.CatalogIndexColumns;
+import com.store.management.api.index.CatalogSnapshotFile;
+import com.store.management.api.index.FacetIndex;
+import com.store.management.api.index.PriceIndex;
+import com.store.management.api.model.Product;
+import com.store.management.api.model.ProductTombstone;
+import com.store.management.api.repository.ProductRepository;
+import com.store.management.api.repository.ProductTombstoneRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Warm restarts from a memory-mapped catalog snapshot.
+ * The snapshot is a copy of the in-memory price and facet indexes together with a change feed
+ * cursor taken a settle window before the copy, so transactions that commit late with an earlier
+ * updatedAt are still after the cursor. On startup the indexes are restored from the snapshot and
+ * caught up by reading the product changes and tombstones after the cursor, without scanning the
+ * full table. The snapshot is rewritten at intervals and on shutdown, from memory only.
+ */
+@Service
+@ConditionalOnProperty(name = "catalog.snapshot.enabled", havingValue = "true")
+@Slf4j
+public class CatalogSnapshotService {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private final ProductRepository productRepository;
+    private final ProductTombstoneRepository productTombstoneRepository;
+    private final PriceIndex priceIndex;
+    private final FacetIndex facetIndex;
+    private final Path snapshotPath;
+    private final long settleMs;
+    private final int tombstoneRetentionDays;
+
+    public CatalogSnapshotService(ProductRepository productRepository,
+                                  ProductTombstoneRepository productTombstoneRepository,
+                                  PriceIndex priceIndex,
+                                  FacetIndex facetIndex,
+                                  @Value("${catalog.snapshot.path}") Path snapshotPath,
+                                  @Value("${products.sync.settle-ms:1000}") long settleMs,
+                                  @Value("${products.sync.tombstone-retention-days:30}") int tombstoneRetentionDays) {
+        this.productRepository = productRepository;
+        this.productTombstoneRepository = productTombstoneRepository;
+        this.priceIndex = priceIndex;
+        this.facetIndex = facetIndex;
+        this.snapshotPath = snapshotPath;
+        this.settleMs = settleMs;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+    }
+
+    /**
+     * Restores the in-memory indexes from the snapshot (or loads them from the database if there is none)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        try {
+            CatalogSnapshotFile.Contents contents = CatalogSnapshotFile.read(snapshotPath);
+            if (tombstoneRetentionDays > 0
+                    && contents.cursor().changedAt().isBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays))) {
+                // Tombstones of products deleted since may have been purged
+                log.info("Catalog snapshot {} is older than the tombstone retention, loading catalog from database",
+                    snapshotPath);
+                loadFromDatabase();
+            } else {
+                // Restored first, so changes committed during the catch-up reach the indexes as events
+                priceIndex.restore(contents.columns().ids(), contents.columns().prices());
+                facetIndex.restore(contents.columns());
+                int changed = catchUp(contents.cursor());
+                log.info("Loaded catalog snapshot {} with {} products, caught up {} changes",
+                    snapshotPath, contents.columns().size(), changed);
+            }
+        } catch (NoSuchFileException e) {
+            log.info("No catalog snapshot at {}, loading catalog from database", snapshotPath);
+            loadFromDatabase();
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", snapshotPath, e.getMessage());
+            loadFromDatabase();
+        }
+        log.info("Catalog indexes warm in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Writes the current contents of the in-memory indexes to the snapshot
+     */
+    @Scheduled(initialDelayString = "${catalog.snapshot.interval-ms:300000}",
+               fixedDelayString = "${catalog.snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        long start = System.nanoTime();
+        // Every change the copy below may lack is after this cursor, as long as it commits within the settle window
+        ChangeCursor cursor = ChangeCursor.after(LocalDateTime.now().minusNanos(settleMs * 1_000_000));
+        long[][] prices = priceIndex.exportPrices();
+        CatalogIndexColumns columns = facetIndex.export(prices[0], prices[1]);
+        try {
+            CatalogSnapshotFile.write(snapshotPath, columns, cursor);
+            log.info("Wrote catalog snapshot {} with {} products in {} ms",
+                snapshotPath, columns.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.error("Failed to write catalog snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        try {
+            writeSnapshot();
+        } catch (RuntimeException e) {
+            log.warn("Skipping catalog snapshot on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void loadFromDatabase() {
+        priceIndex.ensureLoaded();
+        facetIndex.ensureLoaded();
+    }
+
+    /**
+     * Applies every product change and delete after the cursor that has committed so far,
+     * paging through the change feed keyset in (changedAt, productId) order
+     */
+    private int catchUp(ChangeCursor cursor) {
+        LocalDateTime until = LocalDateTime.now();
+        int changed = 0;
+
+        LocalDateTime after = cursor.changedAt();
+        long afterId = cursor.productId();
+        List<CatalogRow> rows;
+        do {
+            rows = productRepository.findCatalogRowsChangedAfter(after, afterId, until, PageRequest.of(0, BATCH_SIZE));
+            for (CatalogRow row : rows) {
+                apply(ProductChangedEvent.updated(toProduct(row)));
+                after = row.getUpdatedAt();
+                afterId = row.getId();
+            }
+            changed += rows.size();
+        } while (rows.size() == BATCH_SIZE);
+
+        after = cursor.changedAt();
+        afterId = cursor.productId();
+        List<ProductTombstone> tombstones;
+        do {
+            tombstones = productTombstoneRepository.findDeletedAfter(after, afterId, until, PageRequest.of(0, BATCH_SIZE));
+            for (ProductTombstone tombstone : tombstones) {
+                apply(ProductChangedEvent.deleted(tombstone.getProductId()));
+                after = tombstone.getDeletedAt();
+                afterId = tombstone.getProductId();
+            }
+            changed += tombstones.size();
+        } while (tombstones.size() == BATCH_SIZE);
+        return changed;
+    }
+
+    private void apply(ProductChangedEvent event) {
+        priceIndex.onProductChanged(event);
+        facetIndex.onProductChanged(event);
+    }
+
+    private static Product toProduct(CatalogRow row) {
+        return Product.builder()
+            .id(row.getId())
+            .price(row.getPrice())
+            .stockQuantity(row.getStockQuantity())
+            .category(row.getCategory())
+            .brand(row.getBrand())
+            .updatedAt(row.getUpdatedAt())
+            .version(row.getVersion())
+            .build();
+    }
+}
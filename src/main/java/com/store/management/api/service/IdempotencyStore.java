@@ -0,0 +1,239 @@
+package com.store.management.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bounded, TTL-evicted store of responses to requests carrying an Idempotency-Key.
+ * The first request for a key executes; concurrent requests with the same key wait for it,
+ * and later ones are answered from the stored response until it expires. Entries are kept
+ * in insertion order, which with a single TTL is also expiry order, so expired entries are
+ * trimmed from the head. When the store is full the oldest completed entries make room; entries
+ * whose request is still running are never dropped, and a new key is refused if only they are left.
+ */
+@Component
+public class IdempotencyStore {
+    
+    private static final String METRIC_NAME = "products.idempotency.requests";
+    
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long waitTimeoutMillis;
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter mismatchCounter;
+    private final Counter fullCounter;
+    
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.executedCounter = meterRegistry.counter(METRIC_NAME, "outcome", "executed");
+        this.replayedCounter = meterRegistry.counter(METRIC_NAME, "outcome", "replayed");
+        this.mismatchCounter = meterRegistry.counter(METRIC_NAME, "outcome", "mismatch");
+        this.fullCounter = meterRegistry.counter(METRIC_NAME, "outcome", "full");
+        meterRegistry.gauge("products.idempotency.entries", this, IdempotencyStore::size);
+    }
+    
+    /**
+     * Response stored for replay
+     * @param status HTTP status
+     * @param contentType Content type, or null if there was no body
+     * @param headers Other response headers, such as Location
+     * @param body Response body
+     */
+    public record StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {}
+    
+    /**
+     * Thrown when a key is reused for a different request
+     */
+    public static class KeyReuseException extends RuntimeException {
+        public KeyReuseException() {
+            super("Idempotency-Key was already used for a different request");
+        }
+    }
+    
+    /**
+     * Thrown when the request that owns a key is still running after the wait timeout
+     */
+    public static class InProgressException extends RuntimeException {
+        public InProgressException() {
+            super("A request with this Idempotency-Key is still in progress");
+        }
+    }
+    
+    /**
+     * Thrown when every stored key belongs to a request that is still running, so none can make room
+     */
+    public static class StoreFullException extends RuntimeException {
+        public StoreFullException() {
+            super("Too many requests with an Idempotency-Key are in progress");
+        }
+    }
+    
+    /**
+     * Callbacks for the outcome of execute
+     */
+    public interface Handler {
+        
+        void execute(Claim claim);
+        
+        void replay(StoredResponse response);
+    }
+    
+    /**
+     * Claim on a key; the owner executes the request and completes or abandons the claim
+     */
+    public final class Claim {
+        
+        private final String key;
+        private final Entry entry;
+        
+        private Claim(String key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+        
+        /**
+         * Stores the response for replay and releases waiting requests
+         * @param response Response of the executed request
+         */
+        public void complete(StoredResponse response) {
+            entry.result.complete(response);
+        }
+        
+        /**
+         * Forgets the key, e.g. after a server error, so a retry executes again
+         */
+        public void abandon() {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.result.complete(null);
+        }
+    }
+    
+    private static final class Entry {
+        private final String fingerprint;
+        private final long createdAt;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        
+        private Entry(String fingerprint, long createdAt) {
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+    }
+    
+    /**
+     * Claims a key, or returns the response of the request that already used it
+     * @param key Caller-scoped idempotency key
+     * @param fingerprint Method, path, query and body hash of the request
+     * @param handler Receives either the claim to execute under or the stored response
+     * @throws KeyReuseException if the key was used for a different request
+     * @throws InProgressException if the owning request does not finish within the wait timeout
+     * @throws StoreFullException if the key is new and the store is full of requests still in progress
+     */
+    public void execute(String key, String fingerprint, Handler handler) {
+        while (true) {
+            Entry entry;
+            boolean owner = false;
+            synchronized (entries) {
+                long now = System.nanoTime();
+                trimExpired(now);
+                entry = entries.get(key);
+                if (entry == null) {
+                    if (entries.size() >= maxEntries && !evictCompleted()) {
+                        fullCounter.increment();
+                        throw new StoreFullException();
+                    }
+                    entry = new Entry(fingerprint, now);
+                    entries.put(key, entry);
+                    owner = true;
+                }
+            }
+            
+            if (owner) {
+                executedCounter.increment();
+                Claim claim = new Claim(key, entry);
+                try {
+                    handler.execute(claim);
+                } finally {
+                    if (!entry.result.isDone()) {
+                        claim.abandon();
+                    }
+                }
+                return;
+            }
+            if (!entry.fingerprint.equals(fingerprint)) {
+                mismatchCounter.increment();
+                throw new KeyReuseException();
+            }
+            StoredResponse response = await(key, entry);
+            if (response != null) {
+                replayedCounter.increment();
+                handler.replay(response);
+                return;
+            }
+            // The owner abandoned the key; try to claim it again
+        }
+    }
+    
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    private StoredResponse await(String key, Entry entry) {
+        try {
+            return entry.result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new InProgressException();
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for idempotent request: " + key, e);
+        }
+    }
+    
+    /**
+     * Drops the oldest completed entries until there is room for one more
+     * @return false if every entry is still in progress
+     */
+    private boolean evictCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            if (iterator.next().result.isDone()) {
+                iterator.remove();
+            }
+        }
+        return entries.size() < maxEntries;
+    }
+    
+    private void trimExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (now - eldest.createdAt < ttlNanos) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.CheckoutRequest;
+import com.store.management.api.dto.OrderLineRequest;
+import com.store.management.api.dto.OrderLineResponse;
+import com.store.management.api.dto.OrderResponse;
+import com.store.management.api.dto.StockMovementResponse;
+import com.store.management.api.dto.StockShortage;
+import com.store.management.api.exception.InsufficientStockException;
+import com.store.management.api.model.CustomerOrder;
+import com.store.management.api.model.MovementType;
+import com.store.management.api.model.OrderLine;
+import com.store.management.api.model.Product;
+import com.store.management.api.repository.CustomerOrderRepository;
+import com.store.management.api.repository.OrderLineRepository;
+import com.store.management.api.repository.ProductRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checkout: turns a cart into an order and takes its stock in one transaction.
+ * Every product in the cart is locked with one query in ID order, so concurrent checkouts over
+ * overlapping carts queue behind each other instead of deadlocking. Either all lines are filled
+ * or none is, and a rejected order reports every short line rather than the first; unknown and
+ * inactive products count as short with nothing available.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class OrderService {
+    
+    private final CustomerOrderRepository customerOrderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final ProductRepository productRepository;
+    private final StockLedgerService stockLedgerService;
+    
+    /**
+     * Places an order for a cart
+     * @param username User placing the order
+     * @param request Cart lines; lines for the same product are combined
+     * @return Placed order
+     */
+    public OrderResponse placeOrder(String username, CheckoutRequest request) {
+        log.info("Placing order for user: {} with {} lines", username, request.lines().size());
+        
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (OrderLineRequest line : request.lines()) {
+            quantities.merge(line.productId(), line.quantity(), Math::addExact);
+        }
+        
+        // Inactive products are filtered out by the entity's restriction, so they are missing here like unknown ones
+        Map<Long, Product> products = productRepository.findAllByIdForUpdate(quantities.keySet()).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        
+        List<StockShortage> shortages = new ArrayList<>();
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            int requested = line.getValue();
+            int available = product == null ? 0 : product.getStockQuantity();
+            if (requested > available) {
+                shortages.add(new StockShortage(line.getKey(), requested, available));
+            } else {
+                totalAmount = totalAmount.add(product.getPrice().multiply(BigDecimal.valueOf(requested)));
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException(shortages);
+        }
+        
+        CustomerOrder order = customerOrderRepository.save(CustomerOrder.builder()
+            .username(username)
+            .lineCount(products.size())
+            .totalAmount(totalAmount)
+            .createdAt(LocalDateTime.now())
+            .build());
+        String reference = "Order " + order.getId();
+        List<OrderLine> lines = new ArrayList<>(products.size());
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            int quantity = line.getValue();
+            StockMovementResponse movement = stockLedgerService.recordLocked(
+                product, MovementType.SALE, quantity, reference);
+            lines.add(OrderLine.builder()
+                .orderId(order.getId())
+                .productId(product.getId())
+                .quantity(quantity)
+                .unitPrice(product.getPrice())
+                .stockVersion(movement.version())
+                .build());
+        }
+        orderLineRepository.saveAll(lines);
+        
+        log.info("Placed order ID: {} with {} lines totalling {}", order.getId(), lines.size(), totalAmount);
+        return mapToResponse(order, lines);
+    }
+    
+    /**
+     * Finds an order with its lines
+     * @param orderId Order ID
+     * @return Order
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse findOrder(Long orderId) {
+        CustomerOrder order = customerOrderRepository.findById(orderId)
+            .orElseThrow(() -> new EntityNotFoundException("Order not found with ID: " + orderId));
+        return mapToResponse(order, orderLineRepository.findByOrderIdOrderByProductId(orderId));
+    }
+    
+    private OrderResponse mapToResponse(CustomerOrder order, List<OrderLine> lines) {
+        List<OrderLineResponse> lineResponses = lines.stream()
+            .map(line -> new OrderLineResponse(
+                line.getProductId(),
+                line.getQuantity(),
+                line.getUnitPrice(),
+                line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity())),
+                line.getStockVersion()))
+            .toList();
+        return new OrderResponse(
+            order.getId(),
+            order.getUsername(),
+            order.getTotalAmount(),
+            lineResponses,
+            order.getCreatedAt()
+        );
+    }
+}
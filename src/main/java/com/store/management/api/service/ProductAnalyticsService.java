@@ -0,0 +1,105 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.CatalogAnalyticsResponse;
+import com.store.management.api.dto.ProductColumns;
+import com.store.management.api.index.ColumnarProductSnapshot;
+import com.store.management.api.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Serves analytics queries from a periodically refreshed off-heap columnar snapshot,
+ * keeping aggregation scans away from both the GC heap and the OLTP database.
+ * Refreshes read through a read-only TransactionTemplate, so the lazy first load, which calls
+ * refresh() on this instance rather than the proxy, is routed to a replica like the scheduled ones.
+ */
+@Service
+@Slf4j
+public class ProductAnalyticsService {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+    private volatile ColumnarProductSnapshot snapshot;
+
+    public ProductAnalyticsService(ProductRepository productRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${products.analytics.batch-size:5000}") int batchSize) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets totals and per-category stock and stock value
+     * @return Catalog analytics from the current snapshot
+     */
+    public CatalogAnalyticsResponse getCatalogAnalytics() {
+        ColumnarProductSnapshot current = currentSnapshot();
+        return new CatalogAnalyticsResponse(
+            current.getRowCount(),
+            current.totalStock(),
+            current.totalStockValue(),
+            current.stockByCategory(),
+            current.stockValueByCategory(),
+            current.getTakenAt()
+        );
+    }
+
+    /**
+     * Finds products whose stock is below a threshold
+     * @param threshold Stock threshold
+     * @return Product IDs from the current snapshot
+     */
+    public List<Long> findProductIdsWithStockBelow(int threshold) {
+        return currentSnapshot().idsWithStockBelow(threshold);
+    }
+
+    /**
+     * Rebuilds the snapshot by reading the products table in ID order, one batch at a time
+     */
+    @Scheduled(initialDelayString = "${products.analytics.refresh-interval-ms:60000}",
+               fixedDelayString = "${products.analytics.refresh-interval-ms:60000}")
+    public void refresh() {
+        long start = System.nanoTime();
+        snapshot = readOnlyTransaction.execute(status -> load());
+        log.info("Refreshed analytics snapshot with {} products in {} ms",
+            snapshot.getRowCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private ColumnarProductSnapshot load() {
+        ColumnarProductSnapshot.Builder builder = ColumnarProductSnapshot.builder((int) productRepository.count());
+
+        long afterId = 0;
+        List<ProductColumns> batch;
+        do {
+            batch = productRepository.findColumnsAfter(afterId, PageRequest.of(0, batchSize));
+            for (ProductColumns row : batch) {
+                builder.add(row.getId(), row.getPrice(), row.getStockQuantity(), row.getCategory());
+                afterId = row.getId();
+            }
+        } while (batch.size() == batchSize);
+        return builder.build();
+    }
+
+    private ColumnarProductSnapshot currentSnapshot() {
+        ColumnarProductSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,67 @@
+package com.store.management.api.service;
+
+import com.store.management.api.repository.ArchivedProductRepository;
+import com.store.management.api.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves soft-deleted products to the archive table in small batches,
+ * each in its own transaction so locks and undo stay bounded
+ */
+@Service
+@Slf4j
+public class ProductArchiveService {
+    
+    private final ProductRepository productRepository;
+    private final ArchivedProductRepository archivedProductRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    
+    public ProductArchiveService(ProductRepository productRepository,
+                                 ArchivedProductRepository archivedProductRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${products.archive.batch-size:500}") int batchSize) {
+        this.productRepository = productRepository;
+        this.archivedProductRepository = archivedProductRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Archives every soft-deleted product
+     * @return Number of products archived
+     */
+    @Scheduled(initialDelayString = "${products.archive.interval-ms:600000}",
+               fixedDelayString = "${products.archive.interval-ms:600000}")
+    public int archiveInactiveProducts() {
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch());
+            total += archived;
+        } while (archived == batchSize);
+        
+        if (total > 0) {
+            log.info("Archived {} soft-deleted products", total);
+        }
+        return total;
+    }
+    
+    private int archiveBatch() {
+        List<Long> ids = productRepository.findInactiveIds(batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedProductRepository.copyFromProducts(ids, LocalDateTime.now());
+        productRepository.deleteInactiveByIdIn(ids);
+        return ids.size();
+    }
+}
@@ -1,20 +1,36 @@
 package com.store.management.api.service;
 
 import com.store.management.api.dto.*;
+import com.store.management.api.event.ProductChangedEvent;
+import com.store.management.api.exception.ProductNotFoundException;
+import com.store.management.api.index.FacetIndex;
+import com.store.management.api.index.PriceIndex;
 import com.store.management.api.model.Product;
+import com.store.management.api.model.ProductTombstone;
 import com.store.management.api.repository.ProductRepository;
-import jakarta.persistence.EntityNotFoundException;
+import com.store.management.api.repository.ProductTombstoneRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -22,7 +38,27 @@ import java.util.Optional;
 @Transactional
 public class ProductService {
     
+    static final int MAX_BATCH_SIZE = 500;
+    static final int MAX_HISTOGRAM_BUCKETS = 100;
+    static final int MAX_CHANGE_FEED_LIMIT = 1000;
+    
+    private static final Comparator<ProductChange> CHANGE_ORDER = Comparator
+        .comparing(ProductChange::changedAt)
+        .thenComparing(ProductChange::productId)
+        .thenComparing(ProductChange::operation);
+    
     private final ProductRepository productRepository;
+    private final ProductTombstoneRepository productTombstoneRepository;
+    private final PriceIndex priceIndex;
+    private final FacetIndex facetIndex;
+    private final StockLedgerService stockLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${products.sync.settle-ms:1000}")
+    private long changeFeedSettleMs;
+    
+    @Value("${products.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
     
     /**
      * Adds a new product to the store
@@ -49,9 +85,12 @@ public class ProductService {
             .price(request.price())
             .category(request.category())
             .stockQuantity(request.stockQuantity())
+            .brand(request.brand())
             .build();
         
         Product savedProduct = productRepository.save(product);
+        stockLedgerService.recordOpeningBalance(savedProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.created(savedProduct));
         log.info("Successfully added product with ID: {}", savedProduct.getId());
         
         return mapToResponse(savedProduct);
@@ -64,18 +103,51 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public ProductResponse findProduct(Long id) {
-        log.info("Finding product with ID: {}", id);
+        // Misses are logged, throttled, by GlobalExceptionHandler; probing unknown IDs must not flood the log
+        log.debug("Finding product with ID: {}", id);
         
         Product product = productRepository.findById(id)
-            .orElseThrow(() -> {
-                log.error("Product not found with ID: {}", id);
-                return new EntityNotFoundException("Product not found with ID: " + id);
-            });
+            .orElseThrow(() -> new ProductNotFoundException(id));
         
         log.info("Found product: {}", product.getName());
         return mapToResponse(product);
     }
     
+    /**
+     * Finds many products by ID with a single query
+     * @param ids Product IDs in the order the caller wants them back
+     * @return Found products in request order and the IDs that do not exist
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResponse findProducts(List<Long> ids) {
+        log.info("Finding {} products by ID", ids.size());
+        
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                "Cannot request more than " + MAX_BATCH_SIZE + " products at once");
+        }
+        
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, Product> productsById = new HashMap<>();
+        for (Product product : productRepository.findAllById(uniqueIds)) {
+            productsById.put(product.getId(), product);
+        }
+        
+        List<ProductResponse> found = new ArrayList<>(productsById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Product product = productsById.get(id);
+            if (product != null) {
+                found.add(mapToResponse(product));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        
+        log.info("Found {} of {} requested products", found.size(), uniqueIds.size());
+        return new BatchGetResponse(found, missingIds);
+    }
+    
     /**
      * Finds products by name (case-insensitive partial match)
      * @param name Product name
@@ -126,6 +198,45 @@ public class ProductService {
         return productPage.map(this::mapToResponse);
     }
     
+    /**
+     * Gets all products with pagination, returning only the selected fields
+     * @param pageable Pagination parameters
+     * @param fields Fields to include in each item
+     * @return Page of field maps
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllProducts(Pageable pageable, Set<ProductField> fields) {
+        log.info("Getting all products with pagination: {} and fields: {}", pageable, fields);
+        
+        return productRepository.findAllFields(fields, pageable);
+    }
+    
+    /**
+     * Finds products by name (case-insensitive partial match), returning only the selected fields
+     * @param name Product name
+     * @param fields Fields to include in each item
+     * @return List of field maps
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findProductsByName(String name, Set<ProductField> fields) {
+        log.info("Searching products by name: {} with fields: {}", name, fields);
+        
+        return productRepository.findFieldsByNameContainingIgnoreCase(name, fields);
+    }
+    
+    /**
+     * Finds products by category, returning only the selected fields
+     * @param category Product category
+     * @param fields Fields to include in each item
+     * @return List of field maps
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findProductsByCategory(String category, Set<ProductField> fields) {
+        log.info("Finding products by category: {} with fields: {}", category, fields);
+        
+        return productRepository.findFieldsByCategory(category, fields);
+    }
+    
     /**
      * Changes the price of a product
      * @param id Product ID
@@ -135,16 +246,18 @@ public class ProductService {
     public ProductResponse changePrice(Long id, UpdatePriceRequest request) {
         log.info("Changing price for product ID: {} to {}", id, request.newPrice());
         
-        Product product = productRepository.findById(id)
+        // Locked like stock movements so writes to a row commit one at a time, in version order
+        Product product = productRepository.findByIdForUpdate(id)
             .orElseThrow(() -> {
-                log.error("Product not found with ID: {} for price update", id);
-                return new EntityNotFoundException("Product not found with ID: " + id);
+                log.debug("Product not found with ID: {} for price update", id);
+                return new ProductNotFoundException(id);
             });
         
         BigDecimal oldPrice = product.getPrice();
         product.changePrice(request.newPrice());
         
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(savedProduct));
         log.info("Successfully changed price for product ID: {} from {} to {}", 
             id, oldPrice, request.newPrice());
         
@@ -152,7 +265,7 @@ public class ProductService {
     }
     
     /**
-     * Updates product stock quantity
+     * Sets product stock quantity by recording the difference in the stock ledger
      * @param id Product ID
      * @param quantity New stock quantity
      * @return Updated product response
@@ -160,35 +273,31 @@ public class ProductService {
     public ProductResponse updateStock(Long id, Integer quantity) {
         log.info("Updating stock for product ID: {} to {}", id, quantity);
         
-        Product product = productRepository.findById(id)
-            .orElseThrow(() -> {
-                log.error("Product not found with ID: {} for stock update", id);
-                return new EntityNotFoundException("Product not found with ID: " + id);
-            });
-        
-        Integer oldQuantity = product.getStockQuantity();
-        product.updateStock(quantity);
+        Product product = stockLedgerService.recount(id, quantity, null);
+        log.info("Successfully updated stock for product ID: {} to {} at ledger version {}", 
+            id, quantity, product.getStockVersion());
         
-        Product savedProduct = productRepository.save(product);
-        log.info("Successfully updated stock for product ID: {} from {} to {}", 
-            id, oldQuantity, quantity);
-        
-        return mapToResponse(savedProduct);
+        return mapToResponse(product);
     }
     
     /**
-     * Deletes a product
+     * Deletes a product by deactivating it; the row is moved to the archive later
      * @param id Product ID
      */
     public void deleteProduct(Long id) {
         log.info("Deleting product with ID: {}", id);
         
-        if (!productRepository.existsById(id)) {
-            log.error("Product not found with ID: {} for deletion", id);
-            throw new EntityNotFoundException("Product not found with ID: " + id);
+        LocalDateTime now = LocalDateTime.now();
+        if (productRepository.deactivate(id, now) == 0) {
+            log.debug("Product not found with ID: {} for deletion", id);
+            throw new ProductNotFoundException(id);
         }
         
-        productRepository.deleteById(id);
+        productTombstoneRepository.save(ProductTombstone.builder()
+            .productId(id)
+            .deletedAt(now)
+            .build());
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
         log.info("Successfully deleted product with ID: {}", id);
     }
     
@@ -202,13 +311,146 @@ public class ProductService {
     public List<ProductResponse> findProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
         log.info("Finding products in price range: {} - {}", minPrice, maxPrice);
         
-        List<Product> products = productRepository.findByPriceBetween(minPrice, maxPrice);
+        List<Long> ids = priceIndex.findIds(minPrice, maxPrice, 0, Integer.MAX_VALUE);
+        List<ProductResponse> products = findInOrder(ids, minPrice, maxPrice);
         log.info("Found {} products in price range: {} - {}", 
             products.size(), minPrice, maxPrice);
         
-        return products.stream()
-            .map(this::mapToResponse)
-            .toList();
+        return products;
+    }
+    
+    /**
+     * Finds a page of products within a price range, ordered by price
+     * @param minPrice Minimum price
+     * @param maxPrice Maximum price
+     * @param pageable Pagination parameters (sort is ignored; results are ordered by price)
+     * @return Page of products in price range
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> findProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                                          Pageable pageable) {
+        log.info("Finding products in price range: {} - {} with pagination: {}", minPrice, maxPrice, pageable);
+        
+        long total = priceIndex.count(minPrice, maxPrice);
+        List<Long> ids = priceIndex.findIds(minPrice, maxPrice, pageable.getOffset(), pageable.getPageSize());
+        
+        return new PageImpl<>(findInOrder(ids, minPrice, maxPrice), pageable, total);
+    }
+    
+    /**
+     * Counts products within a price range
+     * @param minPrice Minimum price
+     * @param maxPrice Maximum price
+     * @return Number of products in price range
+     */
+    @Transactional(readOnly = true)
+    public long countProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        log.info("Counting products in price range: {} - {}", minPrice, maxPrice);
+        return priceIndex.count(minPrice, maxPrice);
+    }
+    
+    /**
+     * Builds a price histogram over a price range
+     * @param minPrice Minimum price
+     * @param maxPrice Maximum price
+     * @param buckets Number of equal-width buckets
+     * @return Product counts per bucket
+     */
+    @Transactional(readOnly = true)
+    public List<PriceBucket> getPriceHistogram(BigDecimal minPrice, BigDecimal maxPrice, int buckets) {
+        log.info("Building price histogram for range: {} - {} with {} buckets", minPrice, maxPrice, buckets);
+        
+        if (buckets > MAX_HISTOGRAM_BUCKETS) {
+            throw new IllegalArgumentException(
+                "Cannot request more than " + MAX_HISTOGRAM_BUCKETS + " histogram buckets");
+        }
+        return priceIndex.histogram(minPrice, maxPrice, buckets);
+    }
+    
+    /**
+     * Finds products by facet filters and counts the values of every facet
+     * @param request Facet filters
+     * @param pageable Pagination of the matching IDs
+     * @return Matching product IDs, total and facet counts
+     */
+    @Transactional(readOnly = true)
+    public FacetSearchResponse searchFacets(FacetSearchRequest request, Pageable pageable) {
+        log.info("Faceted search with filters: {} and pagination: {}", request, pageable);
+        
+        FacetSearchResponse response = facetIndex.search(request, pageable.getOffset(), pageable.getPageSize());
+        log.info("Faceted search matched {} products", response.total());
+        
+        return response;
+    }
+    
+    /**
+     * Reads the products changed after a watermark or cursor, oldest first, with deletes as tombstones.
+     * Changes newer than the settle window are held back so transactions that committed late
+     * with an earlier updatedAt are not skipped by a cursor that has already moved past them.
+     * @param since Watermark to start after, used when no cursor is given
+     * @param cursor Cursor from a previous page
+     * @param limit Maximum number of changes
+     * @return Changes and the cursor to resume from
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse findChangesSince(LocalDateTime since, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_CHANGE_FEED_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CHANGE_FEED_LIMIT);
+        }
+        ChangeCursor position;
+        if (cursor != null) {
+            position = ChangeCursor.parse(cursor);
+        } else if (since != null) {
+            position = ChangeCursor.after(since);
+        } else {
+            throw new IllegalArgumentException("Either ts or cursor is required");
+        }
+        if (tombstoneRetentionDays > 0
+                && position.changedAt().isBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays))) {
+            throw new IllegalArgumentException("Watermark is older than the " + tombstoneRetentionDays
+                + " day tombstone retention; resync from a full export");
+        }
+        log.info("Reading product changes after {} with limit {}", position, limit);
+        
+        LocalDateTime until = LocalDateTime.now().minusNanos(changeFeedSettleMs * 1_000_000);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<ProductChange> changes = new ArrayList<>();
+        for (Product product : productRepository.findChangedAfter(
+                position.changedAt(), position.productId(), until, page)) {
+            changes.add(new ProductChange(product.getId(), ProductChange.Operation.UPSERT,
+                product.getUpdatedAt(), mapToResponse(product)));
+        }
+        for (ProductTombstone tombstone : productTombstoneRepository.findDeletedAfter(
+                position.changedAt(), position.productId(), until, page)) {
+            changes.add(new ProductChange(tombstone.getProductId(), ProductChange.Operation.DELETE,
+                tombstone.getDeletedAt(), null));
+        }
+        changes.sort(CHANGE_ORDER);
+        
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        if (!changes.isEmpty()) {
+            ProductChange last = changes.get(changes.size() - 1);
+            position = new ChangeCursor(last.changedAt(), last.productId());
+        }
+        log.info("Found {} product changes, more available: {}", changes.size(), hasMore);
+        
+        return new ChangeFeedResponse(List.copyOf(changes), position.encode(), hasMore);
+    }
+    
+    /**
+     * Removes tombstones older than the retention period; a retention of zero keeps them forever
+     */
+    @Scheduled(cron = "${products.sync.tombstone-purge-cron:0 0 3 * * *}")
+    public void purgeTombstones() {
+        if (tombstoneRetentionDays <= 0) {
+            return;
+        }
+        int purged = productTombstoneRepository.deleteOlderThan(
+            LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        log.info("Purged {} product tombstones older than {} days", purged, tombstoneRetentionDays);
     }
     
     /**
@@ -228,6 +470,33 @@ public class ProductService {
             .toList();
     }
     
+    /**
+     * Loads products by ID with one query, keeping the order of the given IDs
+     * @param ids Product IDs from the price index
+     * @param minPrice Inclusive lower bound the current price must still meet
+     * @param maxPrice Inclusive upper bound the current price must still meet
+     * @return Products that exist and are still in range, in the given order
+     */
+    private List<ProductResponse> findInOrder(List<Long> ids, BigDecimal minPrice, BigDecimal maxPrice) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> productsById = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            productsById.put(product.getId(), product);
+        }
+        List<ProductResponse> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = productsById.get(id);
+            // The index follows commits a moment late; leave out rows whose price has since left the range
+            if (product != null && product.getPrice().compareTo(minPrice) >= 0
+                    && product.getPrice().compareTo(maxPrice) <= 0) {
+                products.add(mapToResponse(product));
+            }
+        }
+        return products;
+    }
+    
     /**
      * Maps Product entity to ProductResponse DTO
      * @param product Product entity
@@ -0,0 +1,133 @@
+package com.store.management.api.service;
+
+import com.store.management.api.model.RefreshToken;
+import com.store.management.api.model.User;
+import com.store.management.api.repository.RefreshTokenRepository;
+import com.store.management.api.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * Tokens are random, so a single SHA-256 is enough to store them safely and renewing
+ * never pays for password hashing. Each token can be used once; reuse revokes its family.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RefreshTokenService {
+    
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    
+    @Value("${jwt.refresh-expiration:1209600}")
+    private long refreshExpiration;
+    
+    /**
+     * Result of a successful rotation
+     * @param user Owner of the token, known to be enabled
+     * @param refreshToken Replacement refresh token
+     */
+    public record Rotation(User user, String refreshToken) {}
+    
+    /**
+     * Issues a refresh token that starts a new family
+     * @param user Authenticated user
+     * @return Raw refresh token to hand to the client
+     */
+    public String issue(User user) {
+        return issue(user.getId(), UUID.randomUUID().toString());
+    }
+    
+    /**
+     * Exchanges a refresh token for a new one in the same family
+     * @param rawToken Refresh token from the client
+     * @return Token owner and the replacement token
+     * @throws BadCredentialsException if the token is unknown, expired, revoked or already used
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+            .orElseThrow(() -> new BadCredentialsException("Unknown refresh token"));
+        
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        if (token.getRevoked() || refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId());
+            log.warn("Refresh token reuse for user ID: {}, revoked {} tokens in family {}",
+                token.getUserId(), revoked, token.getFamilyId());
+            throw new BadCredentialsException("Refresh token already used");
+        }
+        
+        User user = userRepository.findById(token.getUserId())
+            .filter(User::isEnabled)
+            .orElseThrow(() -> new BadCredentialsException("User no longer active"));
+        
+        return new Rotation(user, issue(user.getId(), token.getFamilyId()));
+    }
+    
+    /**
+     * Revokes the family of a refresh token, e.g. on logout
+     * @param rawToken Refresh token from the client
+     */
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+            .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+    
+    /**
+     * Removes expired refresh tokens
+     */
+    @Scheduled(cron = "${jwt.refresh-purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} expired refresh tokens", purged);
+    }
+    
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+    
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        
+        refreshTokenRepository.save(RefreshToken.builder()
+            .tokenHash(hash(rawToken))
+            .userId(userId)
+            .familyId(familyId)
+            .expiresAt(LocalDateTime.now().plusSeconds(refreshExpiration))
+            .build());
+        return rawToken;
+    }
+    
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
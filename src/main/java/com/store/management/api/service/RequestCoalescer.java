@@ -0,0 +1,93 @@
+package com.store.management.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical reads.
+ * The first caller for a key runs the loader; concurrent callers with the same key
+ * wait for and share its result (or exception) instead of issuing their own query.
+ * Callers that wait longer than the timeout stop waiting and load on their own.
+ */
+@Component
+@Slf4j
+public class RequestCoalescer {
+
+    private static final String METRIC_NAME = "products.read.coalescing";
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final Counter executedCounter;
+    private final Counter coalescedCounter;
+    private final Counter timeoutCounter;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${products.read.coalescing.timeout-ms:2000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.executedCounter = meterRegistry.counter(METRIC_NAME, "outcome", "executed");
+        this.coalescedCounter = meterRegistry.counter(METRIC_NAME, "outcome", "coalesced");
+        this.timeoutCounter = meterRegistry.counter(METRIC_NAME, "outcome", "timeout");
+    }
+
+    /**
+     * Runs the loader once for all concurrent callers using the same key
+     * @param key Identity of the read, e.g. "product:42"
+     * @param loader Read to execute when no identical read is in flight
+     * @return Result of the shared (or own, after a timeout) read
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing == null) {
+            executedCounter.increment();
+            try {
+                T result = loader.get();
+                call.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                call.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, call);
+            }
+        }
+
+        coalescedCounter.increment();
+        try {
+            return (T) existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeoutCounter.increment();
+            log.warn("Coalesced read timed out after {} ms, loading directly: {}", timeoutMillis, key);
+            return loader.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced read failed: " + key, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for coalesced read: " + key, e);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,254 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.LedgerTail;
+import com.store.management.api.dto.StockMovementRequest;
+import com.store.management.api.dto.StockMovementResponse;
+import com.store.management.api.dto.StockReconciliation;
+import com.store.management.api.event.ProductChangedEvent;
+import com.store.management.api.exception.ProductNotFoundException;
+import com.store.management.api.model.MovementType;
+import com.store.management.api.model.Product;
+import com.store.management.api.model.StockMovement;
+import com.store.management.api.model.StockSnapshot;
+import com.store.management.api.repository.ProductRepository;
+import com.store.management.api.repository.StockMovementRepository;
+import com.store.management.api.repository.StockSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Every change to a product's stock goes through here.
+ * The product row is locked, the movement is applied to its stockQuantity (the projection) and
+ * appended to the ledger in the same transaction. Every snapshot-every movements of a product a
+ * snapshot is stored, so rebuilding its stock replays at most that many movements.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StockLedgerService {
+    
+    static final int MAX_HISTORY_LIMIT = 1000;
+    
+    private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${stock.ledger.snapshot-every:100}")
+    private int snapshotEvery;
+    
+    /**
+     * Records the stock a product was created with as its first movement
+     * @param product Newly saved product
+     */
+    public void recordOpeningBalance(Product product) {
+        if (!product.openStockLedger()) {
+            return;
+        }
+        productRepository.save(product);
+        stockMovementRepository.save(StockMovement.builder()
+            .productId(product.getId())
+            .version(1L)
+            .type(MovementType.RECEIPT)
+            .quantity(product.getStockQuantity())
+            .reference("Opening balance")
+            .createdAt(LocalDateTime.now())
+            .build());
+    }
+    
+    /**
+     * Appends one movement to a product's ledger
+     * @param productId Product ID
+     * @param type Movement type
+     * @param quantity Positive quantity; signed for adjustments
+     * @param reference Optional external reference such as an order number
+     * @return Appended movement
+     */
+    public StockMovementResponse record(Long productId, MovementType type, int quantity, String reference) {
+        log.info("Recording {} of {} for product ID: {}", type, quantity, productId);
+        
+        int delta = type.signed(quantity);
+        Product product = lock(productId);
+        StockMovement movement = append(product, type, delta, reference);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(product));
+        
+        return mapToResponse(movement);
+    }
+    
+    /**
+     * Appends one movement to a product the caller has already locked in this transaction
+     * @param product Locked product
+     * @param type Movement type
+     * @param quantity Positive quantity; signed for adjustments
+     * @param reference Optional external reference such as an order number
+     * @return Appended movement
+     */
+    public StockMovementResponse recordLocked(Product product, MovementType type, int quantity, String reference) {
+        StockMovement movement = append(product, type, type.signed(quantity), reference);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(product));
+        return mapToResponse(movement);
+    }
+    
+    /**
+     * Sets a product's stock to a counted quantity by appending the difference as an adjustment
+     * @param productId Product ID
+     * @param quantity Counted stock quantity
+     * @param reference Optional external reference
+     * @return Updated product
+     */
+    public Product recount(Long productId, Integer quantity, String reference) {
+        if (quantity == null || quantity < 0) {
+            throw new IllegalArgumentException("Stock quantity cannot be negative");
+        }
+        
+        Product product = lock(productId);
+        int delta = quantity - product.getStockQuantity();
+        if (delta != 0) {
+            append(product, MovementType.ADJUSTMENT, delta, reference);
+            eventPublisher.publishEvent(ProductChangedEvent.updated(product));
+        }
+        return product;
+    }
+    
+    /**
+     * Appends many movements in one transaction.
+     * All products are locked up front in ID order, and the movement inserts go to the database
+     * as JDBC batches when the transaction flushes. Either every movement is applied or none is.
+     * @param requests Movements in the order to apply them
+     * @return Appended movements in request order
+     */
+    public List<StockMovementResponse> recordAll(List<StockMovementRequest> requests) {
+        log.info("Recording {} stock movements", requests.size());
+        
+        Set<Long> productIds = requests.stream()
+            .map(StockMovementRequest::productId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Product> products = productRepository.findAllByIdForUpdate(productIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Long productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new ProductNotFoundException(productId);
+            }
+        }
+        
+        List<StockMovementResponse> movements = new ArrayList<>(requests.size());
+        for (StockMovementRequest request : requests) {
+            Product product = products.get(request.productId());
+            int delta = request.type().signed(request.quantity());
+            if (product.getStockQuantity() + delta < 0) {
+                throw new IllegalArgumentException("Insufficient stock quantity for product ID: " + product.getId());
+            }
+            movements.add(mapToResponse(append(product, request.type(), delta, request.reference())));
+        }
+        products.values().forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.updated(product)));
+        
+        log.info("Recorded {} stock movements for {} products", movements.size(), products.size());
+        return movements;
+    }
+    
+    /**
+     * Lists a product's movements in version order
+     * @param productId Product ID
+     * @param afterVersion Last version of the previous page, or 0 for the first page
+     * @param limit Maximum number of movements
+     * @return Movements with versions greater than afterVersion
+     */
+    @Transactional(readOnly = true)
+    public List<StockMovementResponse> findMovements(Long productId, Long afterVersion, int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_HISTORY_LIMIT);
+        }
+        return stockMovementRepository.findByProductAfter(productId, afterVersion, PageRequest.of(0, limit)).stream()
+            .map(this::mapToResponse)
+            .toList();
+    }
+    
+    /**
+     * Rebuilds a product's stock from its latest snapshot and the movements after it,
+     * and compares the result with the stored stock quantity
+     * @param productId Product ID
+     * @return Rebuilt and stored stock
+     */
+    @Transactional(readOnly = true)
+    public StockReconciliation reconcile(Long productId) {
+        log.info("Reconciling stock ledger for product ID: {}", productId);
+        
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new ProductNotFoundException(productId));
+        long snapshotVersion = 0;
+        long snapshotQuantity = 0;
+        StockSnapshot snapshot = stockSnapshotRepository.findFirstByProductIdOrderByVersionDesc(productId).orElse(null);
+        if (snapshot != null) {
+            snapshotVersion = snapshot.getVersion();
+            snapshotQuantity = snapshot.getQuantity();
+        }
+        
+        LedgerTail tail = stockMovementRepository.sumAfter(productId, snapshotVersion);
+        long ledgerQuantity = snapshotQuantity + tail.getQuantity();
+        boolean consistent = ledgerQuantity == product.getStockQuantity()
+            && tail.getVersion().equals(product.getStockVersion());
+        if (!consistent) {
+            log.warn("Stock ledger for product ID: {} rebuilds to {} at version {}, product has {} at version {}",
+                productId, ledgerQuantity, tail.getVersion(), product.getStockQuantity(), product.getStockVersion());
+        }
+        
+        return new StockReconciliation(productId, snapshotVersion, tail.getMovements(), tail.getVersion(),
+            ledgerQuantity, product.getStockQuantity(), consistent);
+    }
+    
+    private Product lock(Long productId) {
+        return productRepository.findByIdForUpdate(productId)
+            .orElseThrow(() -> {
+                log.debug("Product not found with ID: {} for stock movement", productId);
+                return new ProductNotFoundException(productId);
+            });
+    }
+    
+    private StockMovement append(Product product, MovementType type, int delta, String reference) {
+        long version = product.applyStockMovement(delta);
+        StockMovement movement = stockMovementRepository.save(StockMovement.builder()
+            .productId(product.getId())
+            .version(version)
+            .type(type)
+            .quantity(delta)
+            .reference(reference)
+            .createdAt(product.getUpdatedAt())
+            .build());
+        if (version % snapshotEvery == 0) {
+            stockSnapshotRepository.save(StockSnapshot.builder()
+                .productId(product.getId())
+                .version(version)
+                .quantity(product.getStockQuantity())
+                .createdAt(product.getUpdatedAt())
+                .build());
+        }
+        return movement;
+    }
+    
+    private StockMovementResponse mapToResponse(StockMovement movement) {
+        return new StockMovementResponse(
+            movement.getId(),
+            movement.getProductId(),
+            movement.getVersion(),
+            movement.getType(),
+            movement.getQuantity(),
+            movement.getReference(),
+            movement.getCreatedAt()
+        );
+    }
+}
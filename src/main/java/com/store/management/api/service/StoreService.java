@@ -0,0 +1,375 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.*;
+import com.store.management.api.exception.ProductNotFoundException;
+import com.store.management.api.model.Store;
+import com.store.management.api.model.StoreInventory;
+import com.store.management.api.repository.ProductRepository;
+import com.store.management.api.repository.StoreInventoryRepository;
+import com.store.management.api.repository.StoreRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StoreService {
+    
+    static final int MAX_INVENTORY_PAGE_SIZE = 1000;
+    static final int MAX_SUMMARY_PRODUCTS = 500;
+    static final double MAX_RADIUS_KM = 500;
+    
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+    
+    private final StoreRepository storeRepository;
+    private final StoreInventoryRepository storeInventoryRepository;
+    private final ProductRepository productRepository;
+    
+    /**
+     * Adds a new store location
+     * @param request Store creation request
+     * @return Created store response
+     */
+    public StoreResponse addStore(CreateStoreRequest request) {
+        log.info("Adding new store: {}", request.code());
+        
+        if (storeRepository.existsByCode(request.code())) {
+            log.warn("Store already exists with code: {}", request.code());
+            throw new IllegalArgumentException("Store already exists with this code");
+        }
+        
+        Store store = storeRepository.save(Store.builder()
+            .code(request.code())
+            .name(request.name())
+            .city(request.city())
+            .latitude(request.latitude())
+            .longitude(request.longitude())
+            .build());
+        log.info("Successfully added store with ID: {}", store.getId());
+        
+        return mapToResponse(store);
+    }
+    
+    /**
+     * Finds a store by ID
+     * @param id Store ID
+     * @return Store response
+     */
+    @Transactional(readOnly = true)
+    public StoreResponse findStore(Long id) {
+        return mapToResponse(storeRepository.findById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Store not found with ID: " + id)));
+    }
+    
+    /**
+     * Gets all stores with pagination
+     * @param pageable Pagination information
+     * @return Page of store responses
+     */
+    @Transactional(readOnly = true)
+    public Page<StoreResponse> getAllStores(Pageable pageable) {
+        return storeRepository.findAll(pageable).map(this::mapToResponse);
+    }
+    
+    /**
+     * Lists the stock rows of a store in product ID order
+     * @param storeId Store ID
+     * @param afterProductId Last product ID of the previous page, or 0 for the first page
+     * @param limit Maximum number of rows
+     * @return Stock rows with product IDs greater than afterProductId
+     */
+    @Transactional(readOnly = true)
+    public List<StoreInventoryResponse> getStoreInventory(Long storeId, Long afterProductId, int limit) {
+        log.info("Listing inventory of store ID: {} after product ID: {}", storeId, afterProductId);
+        
+        checkLimit(limit);
+        requireStore(storeId);
+        return storeInventoryRepository.findByStoreAfter(storeId, afterProductId, PageRequest.of(0, limit)).stream()
+            .map(this::mapToResponse)
+            .toList();
+    }
+    
+    /**
+     * Finds the stock rows of a store below a threshold, lowest first
+     * @param storeId Store ID
+     * @param threshold Stock threshold
+     * @param limit Maximum number of rows
+     * @return Low stock rows
+     */
+    @Transactional(readOnly = true)
+    public List<StoreInventoryResponse> findLowStock(Long storeId, Integer threshold, int limit) {
+        log.info("Finding stock below {} in store ID: {}", threshold, storeId);
+        
+        checkLimit(limit);
+        requireStore(storeId);
+        List<StoreInventoryResponse> rows = storeInventoryRepository
+            .findLowStock(storeId, threshold, PageRequest.of(0, limit)).stream()
+            .map(this::mapToResponse)
+            .toList();
+        log.info("Found {} low stock rows in store ID: {}", rows.size(), storeId);
+        return rows;
+    }
+    
+    /**
+     * Finds the stock of a product at one store
+     * @param storeId Store ID
+     * @param productId Product ID
+     * @return Stock row, with quantity 0 if the store has never stocked the product
+     */
+    @Transactional(readOnly = true)
+    public StoreInventoryResponse findStock(Long storeId, Long productId) {
+        return storeInventoryRepository.findById(new StoreInventory.Key(productId, storeId))
+            .map(this::mapToResponse)
+            .orElseGet(() -> {
+                requireStore(storeId);
+                requireProduct(productId);
+                return new StoreInventoryResponse(storeId, productId, 0, null);
+            });
+    }
+    
+    /**
+     * Sets the stock of a product at one store
+     * @param storeId Store ID
+     * @param productId Product ID
+     * @param quantity New stock quantity
+     * @return Updated stock row
+     */
+    public StoreInventoryResponse updateStock(Long storeId, Long productId, Integer quantity) {
+        log.info("Updating stock for product ID: {} in store ID: {} to {}", productId, storeId, quantity);
+        
+        if (quantity == null || quantity < 0) {
+            throw new IllegalArgumentException("Stock quantity cannot be negative");
+        }
+        
+        StoreInventory inventory = storeInventoryRepository.findById(new StoreInventory.Key(productId, storeId))
+            .orElseGet(() -> newInventory(storeId, productId));
+        inventory.setQuantity(quantity);
+        inventory.setUpdatedAt(LocalDateTime.now());
+        
+        return mapToResponse(storeInventoryRepository.save(inventory));
+    }
+    
+    /**
+     * Adds a delta to the stock of a product at one store without reading it first
+     * @param storeId Store ID
+     * @param productId Product ID
+     * @param delta Amount to add, negative to remove
+     * @return Updated stock row
+     */
+    public StoreInventoryResponse adjustStock(Long storeId, Long productId, Integer delta) {
+        log.info("Adjusting stock for product ID: {} in store ID: {} by {}", productId, storeId, delta);
+        
+        if (delta == null) {
+            throw new IllegalArgumentException("Delta is required");
+        }
+        
+        StoreInventory.Key key = new StoreInventory.Key(productId, storeId);
+        if (storeInventoryRepository.adjustQuantity(storeId, productId, delta, LocalDateTime.now()) == 0) {
+            if (delta < 0) {
+                // Too little stock, or no row at all
+                if (!storeInventoryRepository.existsById(key)) {
+                    requireStore(storeId);
+                    requireProduct(productId);
+                }
+                throw new IllegalArgumentException("Insufficient stock quantity");
+            }
+            // No row yet; retried under the store lock in case a concurrent request has just created it
+            lockForNewInventory(storeId, productId);
+            if (storeInventoryRepository.adjustQuantity(storeId, productId, delta, LocalDateTime.now()) == 0) {
+                StoreInventory inventory = StoreInventory.builder()
+                    .storeId(storeId)
+                    .productId(productId)
+                    .quantity(delta)
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+                return mapToResponse(storeInventoryRepository.save(inventory));
+            }
+        }
+        
+        return storeInventoryRepository.findById(key)
+            .map(this::mapToResponse)
+            .orElseThrow(() -> new EntityNotFoundException("Stock not found for product ID: " + productId));
+    }
+    
+    /**
+     * Finds the stock of a product at every store that has a row for it
+     * @param productId Product ID
+     * @return Stock per store in store ID order
+     */
+    @Transactional(readOnly = true)
+    public List<StoreStockResponse> findStockAcrossStores(Long productId) {
+        log.info("Finding stock across stores for product ID: {}", productId);
+        
+        return storeInventoryRepository.findStockByProduct(productId).stream()
+            .map(row -> mapToResponse(row, null))
+            .toList();
+    }
+    
+    /**
+     * Finds the stores within a radius of a location that have a product in stock, nearest first.
+     * The query narrows to a latitude/longitude bounding box on the store index, and the exact
+     * great-circle distance is applied to the few rows left.
+     * @param productId Product ID
+     * @param latitude Latitude of the location
+     * @param longitude Longitude of the location
+     * @param radiusKm Search radius in kilometres
+     * @param minQuantity Minimum quantity a store must hold
+     * @return Stock per store, nearest first
+     */
+    @Transactional(readOnly = true)
+    public List<StoreStockResponse> findStockNearby(Long productId, double latitude, double longitude,
+                                                    double radiusKm, int minQuantity) {
+        log.info("Finding stock of product ID: {} within {} km of {}, {}", productId, radiusKm, latitude, longitude);
+        
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be greater than 0 and at most " + MAX_RADIUS_KM + " km");
+        }
+        
+        double latitudeDelta = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        // Near the poles the box spans every longitude; it is not wrapped across the antimeridian
+        double longitudeDelta = cosLatitude < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE_LATITUDE * cosLatitude));
+        
+        List<StoreStockResponse> stock = storeInventoryRepository.findStockByProductWithin(productId,
+                Math.max(1, minQuantity),
+                latitude - latitudeDelta, latitude + latitudeDelta,
+                longitude - longitudeDelta, longitude + longitudeDelta).stream()
+            .map(row -> mapToResponse(row, distanceKm(latitude, longitude, row.getLatitude(), row.getLongitude())))
+            .filter(response -> response.distanceKm() <= radiusKm)
+            .sorted(Comparator.comparing(StoreStockResponse::distanceKm))
+            .toList();
+        log.info("Found {} stores with product ID: {} in stock nearby", stock.size(), productId);
+        return stock;
+    }
+    
+    /**
+     * Sums the stock of products over all stores with one grouped query
+     * @param productIds Product IDs
+     * @return One summary per requested product, in request order; products without stock rows have zeros
+     */
+    @Transactional(readOnly = true)
+    public List<ProductStockSummary> summarizeStock(List<Long> productIds) {
+        log.info("Summarizing store stock for {} products", productIds.size());
+        
+        if (productIds.size() > MAX_SUMMARY_PRODUCTS) {
+            throw new IllegalArgumentException(
+                "Cannot request more than " + MAX_SUMMARY_PRODUCTS + " products at once");
+        }
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, StockSummaryRow> rows = storeInventoryRepository
+            .summarizeByProductIdIn(new LinkedHashSet<>(productIds)).stream()
+            .collect(Collectors.toMap(StockSummaryRow::getProductId, Function.identity()));
+        return productIds.stream()
+            .distinct()
+            .map(id -> {
+                StockSummaryRow row = rows.get(id);
+                return row == null
+                    ? new ProductStockSummary(id, 0L, 0L, 0L)
+                    : new ProductStockSummary(id, row.getTotalQuantity(), row.getStoreCount(), row.getStoresInStock());
+            })
+            .toList();
+    }
+    
+    private StoreInventory newInventory(Long storeId, Long productId) {
+        lockForNewInventory(storeId, productId);
+        // A concurrent request may have created the row while this one waited for the lock
+        return storeInventoryRepository.findById(new StoreInventory.Key(productId, storeId))
+            .orElseGet(() -> StoreInventory.builder()
+                .storeId(storeId)
+                .productId(productId)
+                .build());
+    }
+    
+    /**
+     * Locks the store row before a stock row is created for it, until the transaction ends.
+     * Concurrent first writes for the same store and product then run one after the other, and the
+     * later ones find the row instead of inserting it again and failing on the primary key.
+     */
+    private void lockForNewInventory(Long storeId, Long productId) {
+        if (storeRepository.findByIdForUpdate(storeId).isEmpty()) {
+            throw new EntityNotFoundException("Store not found with ID: " + storeId);
+        }
+        requireProduct(productId);
+    }
+    
+    private void requireStore(Long storeId) {
+        if (!storeRepository.existsById(storeId)) {
+            throw new EntityNotFoundException("Store not found with ID: " + storeId);
+        }
+    }
+    
+    private void requireProduct(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new ProductNotFoundException(productId);
+        }
+    }
+    
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_INVENTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_INVENTORY_PAGE_SIZE);
+        }
+    }
+    
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+            + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+            * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+    
+    private StoreResponse mapToResponse(Store store) {
+        return new StoreResponse(
+            store.getId(),
+            store.getCode(),
+            store.getName(),
+            store.getCity(),
+            store.getLatitude(),
+            store.getLongitude(),
+            store.getCreatedAt()
+        );
+    }
+    
+    private StoreInventoryResponse mapToResponse(StoreInventory inventory) {
+        return new StoreInventoryResponse(
+            inventory.getStoreId(),
+            inventory.getProductId(),
+            inventory.getQuantity(),
+            inventory.getUpdatedAt()
+        );
+    }
+    
+    private StoreStockResponse mapToResponse(StoreStockRow row, Double distanceKm) {
+        return new StoreStockResponse(
+            row.getStoreId(),
+            row.getStoreCode(),
+            row.getStoreName(),
+            row.getQuantity(),
+            distanceKm,
+            row.getUpdatedAt()
+        );
+    }
+}
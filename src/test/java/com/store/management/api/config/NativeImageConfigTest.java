@@ -0,0 +1,52 @@
+package com.store.management.api.config;
+
+import com.store.management.api.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.util.ClassUtils;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("NativeImageConfig Tests")
+class NativeImageConfigTest {
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeImageConfig.Hints().registerHints(hints, classLoader);
+    }
+
+    @Test
+    @DisplayName("Should name only classes and resources present on the classpath")
+    void hints_ShouldMatchClasspath() {
+        // Then
+        assertThat(NativeImageConfig.JJWT_IMPLEMENTATIONS)
+            .allSatisfy(type -> assertThat(ClassUtils.isPresent(type, classLoader)).as(type).isTrue());
+        assertThat(NativeImageConfig.SERVICE_PROVIDERS)
+            .allSatisfy(type -> assertThat(ClassUtils.isPresent(type, classLoader)).as(type).isTrue());
+        assertThat(NativeImageConfig.RESOURCES)
+            .allSatisfy(resource -> assertThat(classLoader.getResource(resource)).as(resource).isNotNull());
+    }
+
+    @Test
+    @DisplayName("Should register the jjwt implementation, entities and resources")
+    void hints_ShouldCoverReflectiveAccess() {
+        // Then
+        assertThat(RuntimeHintsPredicates.reflection()
+            .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder"))
+            .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+            .onType(Product.class)
+            .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("hibernate-cache.conf")).accepts(hints);
+    }
+}
@@ -0,0 +1,66 @@
+package com.store.management.api.config;
+
+import com.store.management.api.model.Product;
+import com.store.management.api.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("ProductStockGuard Tests")
+class ProductStockGuardTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Should flush stock changes that come with a new ledger version")
+    void flush_WithStockMovement_ShouldUpdateStock() {
+        // Given
+        Product product = productRepository.saveAndFlush(product());
+
+        // When
+        product.applyStockMovement(-2);
+        product.setName("Renamed Product");
+        productRepository.flush();
+        entityManager.clear();
+
+        // Then
+        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(reloaded.getStockQuantity()).isEqualTo(3);
+        assertThat(reloaded.getStockVersion()).isEqualTo(1L);
+        assertThat(reloaded.getName()).isEqualTo("Renamed Product");
+    }
+
+    @Test
+    @DisplayName("Should refuse to flush a stock quantity written outside the ledger")
+    void flush_WithStockChangedOutsideLedger_ShouldFail() {
+        // Given
+        Product product = productRepository.saveAndFlush(product());
+        entityManager.clear();
+
+        // When & Then
+        assertThatThrownBy(() -> productRepository.saveAndFlush(product.toBuilder().stockQuantity(500).build()))
+            .hasRootCauseInstanceOf(IllegalStateException.class)
+            .rootCause()
+            .hasMessageContaining("can only change through the stock ledger");
+    }
+
+    private static Product product() {
+        return Product.builder()
+            .name("Guarded Product")
+            .price(BigDecimal.TEN)
+            .category("Books")
+            .stockQuantity(5)
+            .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.store.management.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ReadWriteRoutingDataSource Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should spread read-only transactions over replicas and send writes to the primary")
+    void determineCurrentLookupKey_ByTransactionType_ShouldRoute() {
+        // Given
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+            List.of("replica-0", "replica-1"), 0, meterRegistry);
+
+        // When
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object firstRead = routing.determineCurrentLookupKey();
+        Object secondRead = routing.determineCurrentLookupKey();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        Object write = routing.determineCurrentLookupKey();
+
+        // Then
+        assertThat(List.of(firstRead, secondRead)).containsExactlyInAnyOrder("replica-0", "replica-1");
+        assertThat(write).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        assertThat(meterRegistry.counter("datasource.routing.connections", "target", "primary").count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary within the stickiness window after a write")
+    void determineCurrentLookupKey_AfterWriteBySameUser_ShouldStickToPrimary() {
+        // Given
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+            List.of("replica-0"), 60_000, meterRegistry);
+        authenticateAs("manager");
+        routing.determineCurrentLookupKey();
+
+        // When
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object sameUserRead = routing.determineCurrentLookupKey();
+        authenticateAs("user");
+        Object otherUserRead = routing.determineCurrentLookupKey();
+
+        // Then
+        assertThat(sameUserRead).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        assertThat(otherUserRead).isEqualTo("replica-0");
+        assertThat(routing.stickyUserCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop users whose stickiness window has passed when others write")
+    void determineCurrentLookupKey_AfterWindowsPass_ShouldSweepExpiredUsers() throws InterruptedException {
+        // Given
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+            List.of("replica-0"), 20, meterRegistry);
+        for (int i = 0; i < 100; i++) {
+            authenticateAs("user-" + i);
+            routing.determineCurrentLookupKey();
+        }
+
+        // When
+        Thread.sleep(50);
+        authenticateAs("manager");
+        routing.determineCurrentLookupKey();
+
+        // Then
+        assertThat(routing.stickyUserCount()).isEqualTo(1);
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            username, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
@@ -0,0 +1,99 @@
+package com.store.management.api.config;
+
+import com.store.management.api.model.Product;
+import com.store.management.api.model.Role;
+import com.store.management.api.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SyntheticCatalog Tests")
+class SyntheticCatalogTest {
+
+    private static final LocalDateTime ANCHOR = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final int SAMPLES = 50_000;
+
+    private final SyntheticCatalog catalog = new SyntheticCatalog(42, ANCHOR, 730);
+
+    @Test
+    @DisplayName("Should generate the same rows for the same seed regardless of order")
+    void product_WithSameSeed_ShouldBeDeterministic() {
+        // Given
+        SyntheticCatalog other = new SyntheticCatalog(42, ANCHOR, 730);
+
+        // When
+        Product late = other.product(777, 778);
+        Product early = other.product(3, 4);
+
+        // Then
+        assertThat(catalog.product(3, 4)).usingRecursiveComparison().isEqualTo(early);
+        assertThat(catalog.product(777, 778)).usingRecursiveComparison().isEqualTo(late);
+        assertThat(new SyntheticCatalog(43, ANCHOR, 730).product(3, 4)).usingRecursiveComparison().isNotEqualTo(early);
+    }
+
+    @Test
+    @DisplayName("Should skew categories, brands and stock towards the most popular values")
+    void product_ShouldFollowSkewedDistributions() {
+        // When
+        List<Product> products = LongStream.range(0, SAMPLES)
+            .mapToObj(index -> catalog.product(index, index + 1))
+            .toList();
+
+        // Then
+        List<Long> categoryCounts = countsDescending(products, Product::getCategory);
+        assertThat(categoryCounts).hasSize(20);
+        assertThat(categoryCounts.get(0)).isGreaterThan(3 * categoryCounts.get(categoryCounts.size() - 1));
+        assertThat(countsDescending(products, Product::getBrand).get(0))
+            .isGreaterThan(categoryCounts.get(0) / SyntheticCatalog.BRANDS_PER_CATEGORY);
+
+        long outOfStock = products.stream().filter(product -> product.getStockQuantity() == 0).count();
+        assertThat(outOfStock / (double) SAMPLES).isCloseTo(SyntheticCatalog.OUT_OF_STOCK_SHARE, within(0.01));
+        List<Integer> stock = products.stream().map(Product::getStockQuantity).filter(quantity -> quantity > 0).sorted().toList();
+        assertThat(stock.get(stock.size() / 2)).isLessThan(50);
+        assertThat(stock.get(stock.size() - 1)).isGreaterThan(500);
+
+        assertThat(products).allSatisfy(product -> {
+            assertThat(product.getPrice().remainder(BigDecimal.ONE)).isEqualByComparingTo("0.99");
+            assertThat(product.getStockVersion()).isEqualTo(product.getStockQuantity() > 0 ? 1L : 0L);
+            assertThat(product.getName()).hasSizeLessThanOrEqualTo(100);
+            assertThat(product.getUpdatedAt()).isAfterOrEqualTo(product.getCreatedAt()).isBeforeOrEqualTo(ANCHOR);
+        });
+    }
+
+    @Test
+    @DisplayName("Should generate unique users across every role with USER the most common")
+    void user_ShouldSpreadRoles() {
+        // When
+        List<User> users = LongStream.range(0, SAMPLES)
+            .mapToObj(index -> catalog.user(index, index + 1, "hash"))
+            .toList();
+
+        // Then
+        Map<Role, Long> roles = users.stream()
+            .collect(Collectors.groupingBy(User::getRole, () -> new EnumMap<>(Role.class), Collectors.counting()));
+        assertThat(roles).containsOnlyKeys(Role.values());
+        assertThat(roles.get(Role.USER)).isGreaterThan(roles.get(Role.MANAGER));
+        assertThat(roles.get(Role.MANAGER)).isGreaterThan(roles.get(Role.ADMIN));
+        assertThat(users).extracting(User::getUsername).doesNotHaveDuplicates();
+        assertThat(users).allSatisfy(user ->
+            assertThat(user.getUsername()).startsWith(user.getRole().name().toLowerCase() + "-"));
+    }
+
+    private static List<Long> countsDescending(List<Product> products, Function<Product, String> key) {
+        return products.stream()
+            .collect(Collectors.groupingBy(key, Collectors.counting()))
+            .values().stream()
+            .sorted((a, b) -> Long.compare(b, a))
+            .toList();
+    }
+}
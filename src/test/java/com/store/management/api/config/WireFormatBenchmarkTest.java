@@ -0,0 +1,96 @@
+package com.store.management.api.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.store.management.api.dto.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Slf4j
+@DisplayName("Wire Format Benchmark")
+class WireFormatBenchmarkTest {
+
+    private static final int PAGE_SIZE = 1_000;
+    private static final int ITERATIONS = 50;
+    private static final TypeReference<List<ProductResponse>> PRODUCT_LIST = new TypeReference<>() {};
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private List<ProductResponse> products;
+
+    @BeforeEach
+    void setUp() {
+        jsonMapper = applicationBuilder().build();
+        cborMapper = new WireFormatConfig().cborHttpMessageConverter(applicationBuilder()).getObjectMapper();
+
+        LocalDateTime now = LocalDateTime.now();
+        products = IntStream.range(0, PAGE_SIZE)
+            .mapToObj(i -> new ProductResponse(
+                (long) i,
+                "Product " + i,
+                "Description for product number " + i,
+                new BigDecimal("19.99").add(BigDecimal.valueOf(i)),
+                "Category " + (i % 10),
+                i % 250,
+                now.minusDays(i),
+                now))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("CBOR should round-trip the same schema as JSON")
+    void cbor_ShouldRoundTripProductResponses() throws Exception {
+        byte[] encoded = cborMapper.writeValueAsBytes(products);
+
+        List<ProductResponse> decoded = cborMapper.readValue(encoded, PRODUCT_LIST);
+
+        assertThat(decoded).isEqualTo(products);
+    }
+
+    @Test
+    @DisplayName("CBOR payload should be smaller than JSON and report encode/decode times")
+    void cbor_ShouldProduceSmallerPayloadThanJson() throws Exception {
+        byte[] json = jsonMapper.writeValueAsBytes(products);
+        byte[] cbor = cborMapper.writeValueAsBytes(products);
+
+        long jsonNanos = measure(jsonMapper, json);
+        long cborNanos = measure(cborMapper, cbor);
+
+        log.info("{} products: JSON {} bytes, {} us/round-trip; CBOR {} bytes, {} us/round-trip",
+            PAGE_SIZE, json.length, jsonNanos / 1_000, cbor.length, cborNanos / 1_000);
+
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    private long measure(ObjectMapper mapper, byte[] payload) throws Exception {
+        // Warm up before timing
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(products), PRODUCT_LIST);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(products);
+            mapper.readValue(payload, PRODUCT_LIST);
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    /**
+     * Mirrors the spring.jackson.* settings from application.properties
+     */
+    private static Jackson2ObjectMapperBuilder applicationBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,143 @@
+package com.store.management.api.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.store.management.api.model.OutboxEvent;
+import com.store.management.api.repository.OutboxEventRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+    
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    @DisplayName("Should hold back a product after its failed message while other products are delivered")
+    void relay_WithFailingMessage_ShouldKeepProductOrder() {
+        // Given
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(outboxEventRepository.findSettled(any(LocalDateTime.class), any()))
+            .thenReturn(List.of(event(1L, 7L), event(2L, 8L), event(3L, 7L), event(4L, 8L)));
+        List<Long> received = new ArrayList<>();
+        OutboxSink sink = new RecordingSink(received, 1L);
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(sink), transactionManager,
+            new SimpleMeterRegistry(), 500, 0, 10);
+        
+        // When
+        int delivered = relay.relay();
+        
+        // Then
+        assertThat(delivered).isEqualTo(2);
+        assertThat(received).containsExactly(2L, 4L);
+        verify(outboxEventRepository).deleteByIdIn(List.of(2L, 4L));
+        verify(outboxEventRepository).markFailed(eq(List.of(1L, 3L)), contains("rejected 1"));
+    }
+    
+    @Test
+    @DisplayName("Should park exhausted messages and later changes to a parked product")
+    void relay_WithParkedProduct_ShouldParkItsLaterChanges() {
+        // Given
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(outboxEventRepository.findSettled(any(LocalDateTime.class), any()))
+            .thenReturn(List.of(event(1L, 7L), event(2L, 8L), event(3L, 9L)));
+        when(outboxEventRepository.findParkedProductIds(Set.of(7L, 8L, 9L))).thenReturn(List.of(9L));
+        when(outboxEventRepository.parkExhausted(eq(List.of(1L)), eq(3), any(LocalDateTime.class))).thenReturn(1);
+        when(outboxEventRepository.park(eq(List.of(3L)), any(LocalDateTime.class))).thenReturn(1);
+        List<Long> received = new ArrayList<>();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(new RecordingSink(received, 1L)),
+            transactionManager, meterRegistry, 500, 0, 3);
+        
+        // When
+        int delivered = relay.relay();
+        
+        // Then
+        assertThat(delivered).isEqualTo(1);
+        assertThat(received).containsExactly(2L);
+        verify(outboxEventRepository).markFailed(eq(List.of(1L)), contains("rejected 1"));
+        verify(outboxEventRepository).park(eq(List.of(3L)), any(LocalDateTime.class));
+        assertThat(meterRegistry.counter("outbox.relay.messages", "outcome", "parked").count()).isEqualTo(2.0);
+    }
+    
+    @Test
+    @DisplayName("Should POST batches to an HTTP stub and fail on non-2xx answers")
+    void httpSink_WithStubServer_ShouldPostJsonArray() throws Exception {
+        // Given
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/events", exchange -> {
+            bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(bodies.size() == 1 ? 204 : 503, -1);
+            exchange.close();
+        });
+        stub.start();
+        try {
+            URI url = URI.create("http://127.0.0.1:" + stub.getAddress().getPort() + "/events");
+            HttpOutboxSink sink = new HttpOutboxSink(new ObjectMapper().registerModule(new JavaTimeModule()), url, 2000);
+            List<OutboxMessage> messages = List.of(new OutboxMessage(1L, 7L, ProductChangedEvent.ChangeType.UPDATED,
+                "{\"productId\":7}", LocalDateTime.of(2024, 1, 1, 0, 0)));
+            
+            // When
+            sink.deliver(messages);
+            
+            // Then
+            assertThat(bodies).hasSize(1);
+            assertThat(bodies.get(0)).contains("\"payload\":{\"productId\":7}");
+            assertThatThrownBy(() -> sink.deliver(messages)).hasMessageContaining("HTTP 503");
+        } finally {
+            stub.stop(0);
+        }
+    }
+    
+    private static OutboxEvent event(Long id, Long productId) {
+        return OutboxEvent.builder()
+            .id(id)
+            .productId(productId)
+            .type(ProductChangedEvent.ChangeType.UPDATED)
+            .payload("{}")
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+    
+    private record RecordingSink(List<Long> received, Long rejectedId) implements OutboxSink {
+        
+        @Override
+        public String getName() {
+            return "recording";
+        }
+        
+        @Override
+        public void deliver(List<OutboxMessage> messages) {
+            if (messages.stream().anyMatch(message -> message.id().equals(rejectedId))) {
+                throw new IllegalStateException("rejected " + rejectedId);
+            }
+            messages.forEach(message -> received.add(message.id()));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.store.management.api.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Slf4j
+@DisplayName("Not-Found Path Benchmark")
+class NotFoundPathBenchmarkTest {
+
+    private static final int ITERATIONS = 20_000;
+    // Roughly the depth at which a service throws inside the servlet, security and proxy frames
+    private static final int STACK_DEPTH = 120;
+
+    private long sink;
+
+    @Test
+    @DisplayName("Not-found exception should skip the stack trace and report throw costs")
+    void productNotFound_ShouldSkipStackTraceCapture() {
+        ProductNotFoundException stackless = new ProductNotFoundException(42L);
+        assertThat(stackless.getStackTrace()).isEmpty();
+        assertThat(stackless).isInstanceOf(EntityNotFoundException.class)
+            .hasMessage("Product not found with ID: 42");
+
+        long fullNanos = measureThrow(id -> throwAtDepth(STACK_DEPTH,
+            () -> new EntityNotFoundException("Product not found with ID: " + id)));
+        long stacklessNanos = measureThrow(id -> throwAtDepth(STACK_DEPTH,
+            () -> new ProductNotFoundException(id)));
+
+        log.info("Throw and catch at depth {}: EntityNotFoundException {} ns, ProductNotFoundException {} ns",
+            STACK_DEPTH, fullNanos / ITERATIONS, stacklessNanos / ITERATIONS);
+    }
+
+    @Test
+    @DisplayName("Shared writer should write the same 401 body and report costs against a new ObjectMapper")
+    void unauthorizedBody_ShouldReuseWriter() throws Exception {
+        Map<String, Object> body = Map.of("status", 401, "error", "Unauthorized", "path", "/api/products/1");
+        ObjectWriter shared = new ObjectMapper().writer();
+        assertThat(shared.writeValueAsString(body)).isEqualTo(new ObjectMapper().writeValueAsString(body));
+
+        long perCallNanos = measureWrite(() -> new ObjectMapper().writeValue(new ByteArrayOutputStream(), body), 2_000);
+        long sharedNanos = measureWrite(() -> shared.writeValue(new ByteArrayOutputStream(), body), 2_000);
+
+        log.info("401 body: new ObjectMapper {} ns, shared writer {} ns", perCallNanos / 2_000, sharedNanos / 2_000);
+    }
+
+    @Test
+    @DisplayName("Log throttle should pass a fixed number per window and count the rest")
+    void logThrottle_BeyondLimit_ShouldSuppress() {
+        LogThrottle throttle = new LogThrottle(3, Duration.ofMinutes(1));
+
+        int passed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (throttle.tryAcquire()) {
+                passed++;
+            }
+        }
+
+        assertThat(passed).isEqualTo(3);
+        assertThat(throttle.drainSuppressed()).isEqualTo(7);
+        assertThat(throttle.drainSuppressed()).isZero();
+    }
+
+    private long measureThrow(LongFunction<RuntimeException> thrower) {
+        // Warm up before timing
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += thrower.apply(i).getMessage().length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += thrower.apply(i).getMessage().length();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static RuntimeException throwAtDepth(int depth, Supplier<RuntimeException> factory) {
+        if (depth > 0) {
+            return throwAtDepth(depth - 1, factory);
+        }
+        try {
+            throw factory.get();
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private long measureWrite(ThrowingRunnable write, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            write.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            write.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,55 @@
+package com.store.management.api.index;
+
+import com.store.management.api.dto.ChangeCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CatalogSnapshotFile Tests")
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should round-trip index columns and cursor through a mapped file")
+    void read_AfterWrite_ShouldReturnSameColumns() throws IOException {
+        // Given
+        Path path = directory.resolve("catalog.snapshot");
+        ChangeCursor cursor = ChangeCursor.after(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000));
+        CatalogIndexColumns columns = new CatalogIndexColumns(
+            new long[] {9L, 1L, 7L},
+            new long[] {350L, 1999L, 25000L},
+            new String[] {"Books", "Books", "Electronics"},
+            new String[] {"Acme", "Acme", null},
+            new boolean[] {true, true, false});
+
+        // When
+        CatalogSnapshotFile.write(path, columns, cursor);
+        CatalogSnapshotFile.Contents contents = CatalogSnapshotFile.read(path);
+
+        // Then
+        assertThat(contents.cursor()).isEqualTo(cursor);
+        assertThat(contents.columns()).usingRecursiveComparison().isEqualTo(columns);
+        assertThat(directory.resolve("catalog.snapshot.tmp")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not catalog snapshots")
+    void read_WithForeignFile_ShouldThrowException() throws IOException {
+        // Given
+        Path path = Files.write(directory.resolve("catalog.snapshot"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        // When & Then
+        assertThatThrownBy(() -> CatalogSnapshotFile.read(path))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Not a catalog snapshot");
+    }
+}
@@ -0,0 +1,49 @@
+package com.store.management.api.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ColumnarProductSnapshot Tests")
+class ColumnarProductSnapshotTest {
+
+    @Test
+    @DisplayName("Should aggregate stock and stock value per dictionary-encoded category")
+    void aggregations_WithRows_ShouldSumPerCategory() {
+        // Given
+        ColumnarProductSnapshot snapshot = ColumnarProductSnapshot.builder(1)
+            .add(1L, new BigDecimal("10.50"), 4, "Books")
+            .add(2L, new BigDecimal("100.00"), 2, "Electronics")
+            .add(3L, new BigDecimal("1.25"), 8, "Books")
+            .build();
+
+        // Then
+        assertThat(snapshot.getRowCount()).isEqualTo(3);
+        assertThat(snapshot.totalStock()).isEqualTo(14);
+        assertThat(snapshot.totalStockValue()).isEqualByComparingTo("252.00");
+        assertThat(snapshot.stockByCategory()).containsExactly(
+            entry("Books", 12L), entry("Electronics", 2L));
+        assertThat(snapshot.stockValueByCategory()).containsExactly(
+            entry("Books", new BigDecimal("52.00")), entry("Electronics", new BigDecimal("200.00")));
+    }
+
+    @Test
+    @DisplayName("Should grow its buffers and filter by stock threshold")
+    void idsWithStockBelow_AfterGrowth_ShouldReturnMatchingIds() {
+        // Given
+        ColumnarProductSnapshot.Builder builder = ColumnarProductSnapshot.builder(0);
+        for (long id = 1; id <= 100; id++) {
+            builder.add(id, BigDecimal.ONE, (int) id, "Category " + (id % 3));
+        }
+
+        // When
+        ColumnarProductSnapshot snapshot = builder.build();
+
+        // Then
+        assertThat(snapshot.getRowCount()).isEqualTo(100);
+        assertThat(snapshot.idsWithStockBelow(4)).containsExactly(1L, 2L, 3L);
+    }
+}
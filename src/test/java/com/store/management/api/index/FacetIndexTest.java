@@ -0,0 +1,169 @@
+package com.store.management.api.index;
+
+import com.store.management.api.dto.FacetSearchRequest;
+import com.store.management.api.dto.FacetSearchResponse;
+import com.store.management.api.event.ProductChangedEvent;
+import com.store.management.api.model.Product;
+import com.store.management.api.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FacetIndex Tests")
+class FacetIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private FacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        facetIndex = new FacetIndex(productRepository,
+            List.of(new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("500")));
+        facetIndex.rebuild(List.of(
+            product(1L, "Electronics", "Acme", "899.99", 25),
+            product(2L, "Electronics", "Globex", "49.99", 0),
+            product(3L, "Books", null, "14.99", 35),
+            product(4L, "Books", "Acme", "49.99", 20),
+            product(5L, "Clothing", "Globex", "89.99", 50)));
+    }
+
+    @Test
+    @DisplayName("Should AND facets and OR values within a facet")
+    void search_WithFilters_ShouldReturnMatchingIds() {
+        // When
+        FacetSearchResponse result = facetIndex.search(
+            new FacetSearchRequest(List.of("Electronics", "Books"), null, null, true), 0, 10);
+
+        // Then
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.productIds()).containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should count each facet against the other facets' filters")
+    void search_WithCategoryFilter_ShouldCountOtherCategories() {
+        // When
+        FacetSearchResponse result = facetIndex.search(
+            new FacetSearchRequest(List.of("Electronics"), null, null, null), 0, 10);
+
+        // Then
+        assertThat(result.productIds()).containsExactly(1L, 2L);
+        assertThat(result.facets().get(FacetIndex.CATEGORY))
+            .containsEntry("Electronics", 2L)
+            .containsEntry("Books", 2L)
+            .containsEntry("Clothing", 1L);
+        assertThat(result.facets().get(FacetIndex.BRAND))
+            .containsEntry("Acme", 1L)
+            .containsEntry("Globex", 1L);
+        assertThat(result.facets().get(FacetIndex.PRICE_BAND))
+            .containsEntry("0-50", 1L)
+            .containsEntry("500+", 1L);
+        assertThat(result.facets().get(FacetIndex.IN_STOCK))
+            .containsEntry("true", 1L)
+            .containsEntry("false", 1L);
+    }
+
+    @Test
+    @DisplayName("Should page through matching IDs")
+    void search_WithOffsetAndLimit_ShouldReturnPage() {
+        // When
+        FacetSearchResponse result = facetIndex.search(
+            new FacetSearchRequest(null, null, null, null), 2, 2);
+
+        // Then
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(result.productIds()).containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should match nothing for unknown values and return no IDs past the last match")
+    void search_WithUnknownValueOrLargeOffset_ShouldReturnNoIds() {
+        // When
+        FacetSearchResponse unknown = facetIndex.search(
+            new FacetSearchRequest(null, List.of("Initech"), null, null), 0, 10);
+        FacetSearchResponse pastEnd = facetIndex.search(
+            new FacetSearchRequest(null, null, null, null), 5, 10);
+
+        // Then
+        assertThat(unknown.total()).isZero();
+        assertThat(unknown.productIds()).isEmpty();
+        assertThat(unknown.facets().get(FacetIndex.BRAND))
+            .containsEntry("Acme", 2L)
+            .containsEntry("Globex", 2L);
+        assertThat(unknown.facets().get(FacetIndex.CATEGORY)).isEmpty();
+        assertThat(pastEnd.total()).isEqualTo(5);
+        assertThat(pastEnd.productIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow updates and deletions")
+    void onProductChanged_WithWrites_ShouldUpdateBitmaps() {
+        // When
+        facetIndex.onProductChanged(ProductChangedEvent.updated(
+            product(2L, "Electronics", "Globex", "49.99", 10, 1L)));
+        facetIndex.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        // Then
+        FacetSearchResponse result = facetIndex.search(
+            new FacetSearchRequest(List.of("Electronics"), null, null, true), 0, 10);
+        assertThat(result.productIds()).containsExactly(2L);
+        assertThat(result.facets().get(FacetIndex.BRAND)).doesNotContainKey("Acme");
+    }
+
+    @Test
+    @DisplayName("Should keep the newest stock when an older change arrives after it")
+    void onProductChanged_WithOutOfOrderEvents_ShouldKeepNewestValues() {
+        // Given a receipt that committed after the sale that emptied the stock, but was handled first
+        facetIndex.onProductChanged(ProductChangedEvent.updated(
+            product(2L, "Electronics", "Globex", "49.99", 10, 3L)));
+
+        // When
+        facetIndex.onProductChanged(ProductChangedEvent.updated(
+            product(2L, "Electronics", "Globex", "49.99", 0, 2L)));
+        facetIndex.onProductChanged(ProductChangedEvent.deleted(1L));
+        facetIndex.onProductChanged(ProductChangedEvent.updated(
+            product(1L, "Electronics", "Acme", "899.99", 25, 4L)));
+
+        // Then
+        FacetSearchResponse result = facetIndex.search(
+            new FacetSearchRequest(List.of("Electronics"), null, null, true), 0, 10);
+        assertThat(result.productIds()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should map prices to configured bands")
+    void priceBandOf_WithPrices_ShouldReturnBandLabel() {
+        assertThat(facetIndex.priceBandOf(new BigDecimal("49.99"))).isEqualTo("0-50");
+        assertThat(facetIndex.priceBandOf(new BigDecimal("50.00"))).isEqualTo("50-100");
+        assertThat(facetIndex.priceBandOf(new BigDecimal("1000"))).isEqualTo("500+");
+    }
+
+    private static Product product(Long id, String category, String brand, String price,
+                                   int stock) {
+        return product(id, category, brand, price, stock, null);
+    }
+
+    private static Product product(Long id, String category, String brand, String price,
+                                   int stock, Long version) {
+        return Product.builder()
+            .id(id)
+            .name("Product " + id)
+            .category(category)
+            .brand(brand)
+            .price(new BigDecimal(price))
+            .stockQuantity(stock)
+            .version(version)
+            .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.store.management.api.index;
+
+import com.store.management.api.dto.PriceBucket;
+import com.store.management.api.event.ProductChangedEvent;
+import com.store.management.api.model.Product;
+import com.store.management.api.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PriceIndex Tests")
+class PriceIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private PriceIndex priceIndex;
+
+    @BeforeEach
+    void setUp() {
+        priceIndex.rebuild(List.of(
+            product(1L, "19.99"),
+            product(2L, "49.99"),
+            product(3L, "49.99"),
+            product(4L, "129.99"),
+            product(5L, "899.99")));
+    }
+
+    @Test
+    @DisplayName("Should return IDs in price order within an inclusive range")
+    void findIds_WithRange_ShouldReturnOrderedIds() {
+        // When
+        List<Long> ids = priceIndex.findIds(new BigDecimal("49.99"), new BigDecimal("129.99"), 0, 10);
+
+        // Then
+        assertThat(ids).containsExactly(2L, 3L, 4L);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should page through a range with offset and limit")
+    void findIds_WithOffsetAndLimit_ShouldReturnPage() {
+        // When
+        List<Long> ids = priceIndex.findIds(BigDecimal.ZERO, new BigDecimal("1000"), 1, 2);
+
+        // Then
+        assertThat(ids).containsExactly(2L, 3L);
+        assertThat(priceIndex.findIds(BigDecimal.ZERO, new BigDecimal("1000"), 10, 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count products in range")
+    void count_WithRange_ShouldCountInclusiveBounds() {
+        assertThat(priceIndex.count(new BigDecimal("19.99"), new BigDecimal("49.99"))).isEqualTo(3);
+        assertThat(priceIndex.count(new BigDecimal("50"), new BigDecimal("100"))).isZero();
+        assertThat(priceIndex.count(new BigDecimal("100"), new BigDecimal("50"))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count products per histogram bucket")
+    void histogram_WithBuckets_ShouldCountPerBucket() {
+        // When
+        List<PriceBucket> histogram = priceIndex.histogram(BigDecimal.ZERO, new BigDecimal("99.99"), 2);
+
+        // Then
+        assertThat(histogram).containsExactly(
+            new PriceBucket(new BigDecimal("0.00"), new BigDecimal("49.99"), 3),
+            new PriceBucket(new BigDecimal("50.00"), new BigDecimal("99.99"), 0));
+    }
+
+    @Test
+    @DisplayName("Should follow price changes, additions and deletions")
+    void onProductChanged_WithWrites_ShouldUpdateIndex() {
+        // When
+        priceIndex.onProductChanged(ProductChangedEvent.updated(product(5L, "9.99", 1L)));
+        priceIndex.onProductChanged(ProductChangedEvent.created(product(6L, "49.99", 0L)));
+        priceIndex.onProductChanged(ProductChangedEvent.deleted(2L));
+
+        // Then
+        assertThat(priceIndex.findIds(BigDecimal.ZERO, new BigDecimal("1000"), 0, 10))
+            .containsExactly(5L, 1L, 3L, 6L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should drop changes that arrive after a newer change or a delete of the same product")
+    void onProductChanged_WithOutOfOrderEvents_ShouldKeepNewestPrice() {
+        // When
+        priceIndex.onProductChanged(ProductChangedEvent.updated(product(5L, "9.99", 3L)));
+        priceIndex.onProductChanged(ProductChangedEvent.updated(product(5L, "999.99", 2L)));
+        priceIndex.onProductChanged(ProductChangedEvent.deleted(2L));
+        priceIndex.onProductChanged(ProductChangedEvent.updated(product(2L, "15.00", 4L)));
+
+        // Then
+        assertThat(priceIndex.findIds(BigDecimal.ZERO, new BigDecimal("1000"), 0, 10))
+            .containsExactly(5L, 1L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should stay sorted across block splits and merges")
+    void onProductChanged_WithManyWrites_ShouldMatchSortedOrder() {
+        // Given
+        Random random = new Random(7);
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        for (long id = 1; id <= 3 * PriceIndex.MAX_BLOCK_SIZE; id++) {
+            prices.put(id, BigDecimal.valueOf(random.nextInt(50_000), 2));
+        }
+        priceIndex.rebuild(prices.entrySet().stream()
+            .map(entry -> product(entry.getKey(), entry.getValue().toPlainString()))
+            .toList());
+
+        // When
+        long version = 0;
+        for (int i = 0; i < 4 * PriceIndex.MAX_BLOCK_SIZE; i++) {
+            long id = 1 + random.nextInt(3 * PriceIndex.MAX_BLOCK_SIZE);
+            if (!prices.containsKey(id)) {
+                // Deleted products do not come back
+                continue;
+            }
+            if (random.nextInt(3) == 0) {
+                prices.remove(id);
+                priceIndex.onProductChanged(ProductChangedEvent.deleted(id));
+            } else {
+                // Cheap products only, so inserts pile into the first blocks and split them
+                BigDecimal price = BigDecimal.valueOf(random.nextInt(500), 2);
+                prices.put(id, price);
+                priceIndex.onProductChanged(ProductChangedEvent.updated(product(id, price.toPlainString(), ++version)));
+            }
+        }
+
+        // Then
+        List<Long> expected = prices.entrySet().stream()
+            .sorted(Map.Entry.<Long, BigDecimal>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+            .map(Map.Entry::getKey)
+            .toList();
+        BigDecimal max = new BigDecimal("500.00");
+        assertThat(priceIndex.findIds(BigDecimal.ZERO, max, 0, Integer.MAX_VALUE)).isEqualTo(expected);
+        assertThat(priceIndex.findIds(BigDecimal.ZERO, max, 1000, 2000)).isEqualTo(expected.subList(1000, 3000));
+        assertThat(priceIndex.count(new BigDecimal("1.00"), new BigDecimal("4.99")))
+            .isEqualTo(prices.values().stream()
+                .filter(price -> price.compareTo(BigDecimal.ONE) >= 0 && price.compareTo(new BigDecimal("4.99")) <= 0)
+                .count());
+    }
+
+    @Test
+    @DisplayName("Should load from the repository on first use")
+    void findIds_WhenNotLoaded_ShouldLoadFromRepository() {
+        // Given
+        PriceIndex coldIndex = new PriceIndex(productRepository);
+        when(productRepository.findAllPrices()).thenReturn(List.of());
+
+        // When
+        coldIndex.count(BigDecimal.ZERO, BigDecimal.TEN);
+        coldIndex.count(BigDecimal.ZERO, BigDecimal.TEN);
+
+        // Then
+        verify(productRepository, times(1)).findAllPrices();
+    }
+
+    private static Product product(Long id, String price) {
+        return product(id, price, null);
+    }
+
+    private static Product product(Long id, String price, Long version) {
+        return Product.builder()
+            .id(id)
+            .name("Product " + id)
+            .price(new BigDecimal(price))
+            .category("Electronics")
+            .stockQuantity(1)
+            .version(version)
+            .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.store.management.api.repository;
+
+import com.store.management.api.dto.ProductField;
+import com.store.management.api.model.Product;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.store.management.api.repository.ProductFieldRepositoryTest$RecordingInspector")
+@DisplayName("ProductFieldRepository Tests")
+class ProductFieldRepositoryTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product laptop;
+
+    @BeforeEach
+    void setUp() {
+        laptop = productRepository.save(product("Laptop 100%", "Electronics", "999.99"));
+        productRepository.save(product("Novel", "Books", "12.50"));
+        productRepository.flush();
+        STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("Should select only the requested columns for a mixed field list")
+    void findFieldsByCategory_WithIdAndCategory_ShouldNotReadDescription() {
+        // When
+        List<Map<String, Object>> result = productRepository.findFieldsByCategory(
+            "Electronics", ProductField.parse("category,id"));
+
+        // Then
+        assertThat(result).containsExactly(Map.of("id", laptop.getId(), "category", "Electronics"));
+        assertThat(result.get(0).keySet()).containsExactly("id", "category");
+        assertThat(STATEMENTS).hasSize(1);
+        assertThat(STATEMENTS.get(0)).doesNotContain("description", "stock_quantity");
+    }
+
+    @Test
+    @DisplayName("Should page and sort by the requested fields")
+    void findAllFields_WithSort_ShouldPageSelectedColumns() {
+        // When
+        Page<Map<String, Object>> page = productRepository.findAllFields(
+            ProductField.parse("name,price"), PageRequest.of(0, 1, Sort.by("price")));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getContent().get(0)).containsEntry("name", "Novel");
+        assertThat(page.getContent().get(0).get("price")).isEqualTo(new BigDecimal("12.50"));
+    }
+
+    @Test
+    @DisplayName("Should match names case-insensitively and treat wildcards literally")
+    void findFieldsByNameContainingIgnoreCase_ShouldEscapeWildcards() {
+        // When & Then
+        assertThat(productRepository.findFieldsByNameContainingIgnoreCase("lAPTOP", ProductField.parse("id")))
+            .containsExactly(Map.of("id", laptop.getId()));
+        assertThat(productRepository.findFieldsByNameContainingIgnoreCase("100%", ProductField.parse("id")))
+            .containsExactly(Map.of("id", laptop.getId()));
+        assertThat(productRepository.findFieldsByNameContainingIgnoreCase("%", ProductField.parse("id")))
+            .hasSize(1);
+    }
+
+    private static Product product(String name, String category, String price) {
+        return Product.builder()
+            .name(name)
+            .description("A long description that should only be read when asked for")
+            .price(new BigDecimal(price))
+            .category(category)
+            .stockQuantity(5)
+            .build();
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
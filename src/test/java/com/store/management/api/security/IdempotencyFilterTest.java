@@ -0,0 +1,81 @@
+package com.store.management.api.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.api.model.Role;
+import com.store.management.api.model.User;
+import com.store.management.api.service.IdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IdempotencyFilter Tests")
+class IdempotencyFilterTest {
+
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+        new IdempotencyStore(new SimpleMeterRegistry(), 60_000, 100, 1_000), new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder().id(1L).username("manager").role(Role.MANAGER).build();
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should replay the stored status, headers and body without executing again")
+    void doFilter_WithRetry_ShouldReplayHeaders() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request(), first, (request, response) -> {
+            executions.incrementAndGet();
+            HttpServletResponse created = (HttpServletResponse) response;
+            created.setStatus(201);
+            created.setHeader(HttpHeaders.LOCATION, "/api/products/7");
+            created.addHeader(HttpHeaders.VARY, "Origin");
+            created.addHeader(HttpHeaders.VARY, "Accept");
+            created.setContentType("application/json");
+            created.getOutputStream().write("{\"id\":7}".getBytes());
+        });
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request(), retry, (request, response) -> executions.incrementAndGet());
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(first.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/products/7");
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/products/7");
+        assertThat(retry.getHeaders(HttpHeaders.VARY)).containsExactly("Origin", "Accept");
+        assertThat(retry.getContentType()).isEqualTo("application/json");
+        assertThat(retry.getContentAsString()).isEqualTo("{\"id\":7}");
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/products");
+        request.setServletPath("/api/products");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContentType("application/json");
+        request.setContent("{\"name\":\"Widget\"}".getBytes());
+        return request;
+    }
+}
@@ -0,0 +1,113 @@
+package com.store.management.api.security;
+
+import com.store.management.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PasswordHashingExecutor Tests")
+class PasswordHashingExecutorTest {
+
+    @Test
+    @DisplayName("Should verify passwords and flag hashes made at a lower cost")
+    void matches_WithLowerCostHash_ShouldMatchAndNeedRehash() {
+        // Given
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(
+            new BCryptPasswordEncoder(5), new SimpleMeterRegistry(), 5, 1, 4, 1);
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        try {
+            // When & Then
+            assertThat(executor.matches("secret", oldHash)).isTrue();
+            assertThat(executor.matches("wrong", oldHash)).isFalse();
+            assertThat(executor.needsRehash(oldHash)).isTrue();
+            assertThat(executor.needsRehash(executor.encode("secret"))).isFalse();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should flag hashes made at a higher cost once the configured cost is lowered")
+    void needsRehash_WithHigherCostHash_ShouldNeedRehash() {
+        // Given
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(
+            new BCryptPasswordEncoder(4), new SimpleMeterRegistry(), 4, 1, 4, 1);
+        String oldHash = new BCryptPasswordEncoder(6).encode("secret");
+
+        try {
+            // When & Then
+            assertThat(executor.matches("secret", oldHash)).isTrue();
+            assertThat(executor.needsRehash(oldHash)).isTrue();
+            assertThat(executor.needsRehash(executor.encode("secret"))).isFalse();
+            assertThat(executor.needsRehash("not-a-bcrypt-hash")).isFalse();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should shed work with 429 once the pool and queue are full")
+    void matches_WithFullQueue_ShouldThrowTooManyRequests() throws Exception {
+        // Given
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                hashing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(slowEncoder, meterRegistry, 4, 1, 1, 2);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<Boolean> running = callers.submit(() -> executor.matches("a", "hash"));
+            assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Boolean> queued = callers.submit(() -> executor.matches("b", "hash"));
+            waitForQueued(meterRegistry, 1);
+
+            // When & Then
+            assertThatThrownBy(() -> executor.matches("c", "hash"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(2L);
+            assertThat(meterRegistry.counter("auth.password.hashing.rejected").count()).isEqualTo(1.0);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            executor.shutdown();
+        }
+    }
+
+    private static void waitForQueued(MeterRegistry meterRegistry, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hashing.queued").gauge().value() < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + expected + " queued hashes");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.store.management.api.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RateLimiter Tests")
+class RateLimiterTest {
+
+    private MeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(
+            rule("search-staff", "/api/products/search", List.of("MANAGER"), 50, 20),
+            rule("search", "/api/products/search", List.of(), 3, 1)));
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should pick the first rule matching path and caller role")
+    void findRule_WithRoles_ShouldMatchFirstApplicableRule() {
+        // When & Then
+        assertThat(rateLimiter.findRule("GET", "/api/products/search",
+            List.of(new SimpleGrantedAuthority("ROLE_MANAGER"))).getName()).isEqualTo("search-staff");
+        assertThat(rateLimiter.findRule("GET", "/api/products/search",
+            List.of(new SimpleGrantedAuthority("ROLE_USER"))).getName()).isEqualTo("search");
+        assertThat(rateLimiter.findRule("GET", "/api/products/1", List.of())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should admit a burst of capacity requests per key, then report the wait")
+    void tryAcquire_BeyondCapacity_ShouldReject() {
+        // Given
+        RateLimiter.CompiledRule rule = rateLimiter.findRule("GET", "/api/products/search", List.of());
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(rule, "ip:10.0.0.1")).isZero();
+        }
+        long wait = rateLimiter.tryAcquire(rule, "ip:10.0.0.1");
+
+        // Then
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire(rule, "ip:10.0.0.2")).isZero();
+        assertThat(meterRegistry.counter("http.rate_limit.requests", "rule", "search", "outcome", "rejected").count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should evict buckets only once they have refilled")
+    void evictIdleBuckets_WithFullAndDrainedBuckets_ShouldDropOnlyFullOnes() {
+        // Given
+        RateLimiter.CompiledRule rule = rateLimiter.findRule("GET", "/api/products/search", List.of());
+        rateLimiter.tryAcquire(rule, "ip:10.0.0.1");
+
+        // When
+        rateLimiter.evictIdleBuckets();
+
+        // Then
+        assertThat(rateLimiter.bucketCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject rules without a positive capacity")
+    void constructor_WithZeroCapacity_ShouldThrowException() {
+        // Given
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(rule("broken", "/api/**", List.of(), 0, 1)));
+
+        // When & Then
+        assertThatThrownBy(() -> new RateLimiter(properties, new SimpleMeterRegistry()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("broken");
+    }
+
+    private static RateLimitProperties.Rule rule(String name, String path, List<String> roles,
+                                                 int capacity, double refillPerSecond) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName(name);
+        rule.setPath(path);
+        rule.setRoles(roles);
+        rule.setCapacity(capacity);
+        rule.setRefillPerSecond(refillPerSecond);
+        return rule;
+    }
+}
@@ -0,0 +1,146 @@
+package com.store.management.api.security;
+
+import com.store.management.api.model.Role;
+import com.store.management.api.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Slf4j
+@DisplayName("Role Authorization Benchmark")
+class RoleAuthorizationBenchmarkTest {
+
+    private static final int ITERATIONS = 200_000;
+    private static final String PRE_AUTHORIZE = "hasRole('USER') or hasRole('ADMIN') or hasRole('MANAGER')";
+
+    private RoleAuthorizationInterceptor interceptor;
+    private HandlerMethod readEndpoint;
+    private HandlerMethod deleteEndpoint;
+    private HandlerMethod loginEndpoint;
+    private HandlerMethod reportEndpoint;
+    private long sink;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        interceptor = new RoleAuthorizationInterceptor(null);
+        readEndpoint = new HandlerMethod(new ProductEndpoints(), ProductEndpoints.class.getMethod("read"));
+        deleteEndpoint = new HandlerMethod(new ProductEndpoints(), ProductEndpoints.class.getMethod("delete"));
+        loginEndpoint = new HandlerMethod(new ProductEndpoints(), ProductEndpoints.class.getMethod("login"));
+        reportEndpoint = new HandlerMethod(new ReportEndpoints(), ReportEndpoints.class.getMethod("report"));
+        interceptor.index(Map.of(
+            RequestMappingInfo.paths("/api/products/{id}").methods(RequestMethod.GET).build(), readEndpoint,
+            RequestMappingInfo.paths("/api/products/{id}").methods(RequestMethod.DELETE).build(), deleteEndpoint,
+            RequestMappingInfo.paths("/api/auth/login").build(), loginEndpoint,
+            RequestMappingInfo.paths("/api/reports").build(), reportEndpoint));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should allow listed roles, deny others and leave public endpoints to the filter chain")
+    void preHandle_ShouldCheckCallerRoleAgainstTable() {
+        authenticate(Role.USER);
+
+        assertThat(interceptor.preHandle(null, null, readEndpoint)).isTrue();
+        assertThat(interceptor.preHandle(null, null, loginEndpoint)).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(null, null, deleteEndpoint))
+            .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> interceptor.preHandle(null, null, reportEndpoint))
+            .isInstanceOf(AccessDeniedException.class);
+
+        authenticate(Role.MANAGER);
+        assertThat(interceptor.preHandle(null, null, reportEndpoint)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should deny an annotated endpoint when nobody is authenticated")
+    void preHandle_WithoutAuthentication_ShouldDeny() {
+        assertThatThrownBy(() -> interceptor.preHandle(null, null, readEndpoint))
+            .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    @DisplayName("Bit test against the precomputed table should agree with the SpEL rule and report both costs")
+    void preHandle_ShouldMatchSpelEvaluation() {
+        Authentication authentication = authenticate(Role.MANAGER);
+        Expression expression = new SpelExpressionParser().parseExpression(PRE_AUTHORIZE);
+        assertThat(expression.getValue(
+            new StandardEvaluationContext(new SecurityExpressionRoot(authentication) {}), Boolean.class)).isTrue();
+        assertThat(interceptor.preHandle(null, null, readEndpoint)).isTrue();
+
+        // What method security does per call: a fresh root and context, then evaluate the parsed rule
+        long spelNanos = measure(() -> {
+            SecurityExpressionRoot root = new SecurityExpressionRoot(authentication) {};
+            return Boolean.TRUE.equals(expression.getValue(new StandardEvaluationContext(root), Boolean.class));
+        });
+        long tableNanos = measure(() -> interceptor.preHandle(null, null, readEndpoint));
+
+        log.info("Authorization per request: SpEL {} ns, role table {} ns",
+            spelNanos / ITERATIONS, tableNanos / ITERATIONS);
+    }
+
+    private static Authentication authenticate(Role role) {
+        User user = User.builder().username(role.name().toLowerCase()).role(role).build();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return authentication;
+    }
+
+    private long measure(Check check) {
+        // Warm up before timing
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += check.allowed() ? 1 : 0;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += check.allowed() ? 1 : 0;
+        }
+        return System.nanoTime() - start;
+    }
+
+    @FunctionalInterface
+    private interface Check {
+        boolean allowed();
+    }
+
+    static class ProductEndpoints {
+
+        @AllowedRoles({Role.USER, Role.MANAGER, Role.ADMIN})
+        public void read() {
+        }
+
+        @AllowedRoles(Role.ADMIN)
+        public void delete() {
+        }
+
+        public void login() {
+        }
+    }
+
+    @AllowedRoles({Role.MANAGER, Role.ADMIN})
+    static class ReportEndpoints {
+
+        public void report() {
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.store.management.api.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("RoleAuthorizationInterceptor Tests")
+class RoleAuthorizationInterceptorTest {
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private RoleAuthorizationInterceptor interceptor;
+
+    @Test
+    @DisplayName("Should deny every mapped API endpoint outside /api/auth to an anonymous caller")
+    void preHandle_ForEveryMappedEndpoint_ShouldRequireRolesOutsideAuth() {
+        // Given
+        Map<RequestMappingInfo, HandlerMethod> handlerMethods = handlerMapping.getHandlerMethods();
+
+        // When & Then
+        assertThat(handlerMethods).isNotEmpty();
+        handlerMethods.forEach((mapping, handlerMethod) -> {
+            if (mapping.getPatternValues().stream().allMatch(path -> path.startsWith("/api/auth/"))) {
+                assertThat(interceptor.preHandle(null, null, handlerMethod)).as(mapping.toString()).isTrue();
+            } else if (mapping.getPatternValues().stream().anyMatch(path -> path.startsWith("/api/"))) {
+                assertThatThrownBy(() -> interceptor.preHandle(null, null, handlerMethod))
+                    .as(mapping.toString())
+                    .isInstanceOf(AccessDeniedException.class);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with an API endpoint that has no @AllowedRoles")
+    void index_WithUnannotatedApiEndpoint_ShouldFail() throws Exception {
+        // Given
+        RoleAuthorizationInterceptor fresh = new RoleAuthorizationInterceptor(null);
+        HandlerMethod export = new HandlerMethod(new ExportEndpoints(), ExportEndpoints.class.getMethod("export"));
+        HandlerMethod login = new HandlerMethod(new ExportEndpoints(), ExportEndpoints.class.getMethod("login"));
+
+        // When & Then
+        assertThatThrownBy(() -> fresh.index(Map.of(RequestMappingInfo.paths("/api/export").build(), export)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("/api/export");
+        assertThatCode(() -> fresh.index(Map.of(RequestMappingInfo.paths("/api/auth/login").build(), login)))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should deny a handler that was not in the table built at startup")
+    void preHandle_WithUnknownHandler_ShouldDeny() throws Exception {
+        // Given
+        HandlerMethod unknown = new HandlerMethod(new ExportEndpoints(), ExportEndpoints.class.getMethod("export"));
+
+        // When & Then
+        assertThatThrownBy(() -> interceptor.preHandle(null, null, unknown))
+            .isInstanceOf(AccessDeniedException.class);
+    }
+
+    static class ExportEndpoints {
+
+        public void export() {
+        }
+
+        public void login() {
+        }
+    }
+}
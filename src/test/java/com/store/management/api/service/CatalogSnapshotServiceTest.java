@@ -0,0 +1,154 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.CatalogRow;
+import com.store.management.api.dto.FacetSearchRequest;
+import com.store.management.api.dto.FacetSearchResponse;
+import com.store.management.api.index.FacetIndex;
+import com.store.management.api.index.PriceIndex;
+import com.store.management.api.model.Product;
+import com.store.management.api.model.ProductTombstone;
+import com.store.management.api.repository.ProductRepository;
+import com.store.management.api.repository.ProductTombstoneRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogSnapshotService Tests")
+class CatalogSnapshotServiceTest {
+
+    private static final List<BigDecimal> PRICE_BANDS = List.of(new BigDecimal("50"), new BigDecimal("100"));
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductTombstoneRepository productTombstoneRepository;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should restore the indexes from the snapshot and catch up changes after its cursor")
+    void warmUp_WithSnapshot_ShouldRestoreIndexesAndCatchUp() {
+        // Given
+        PriceIndex priceIndex = new PriceIndex(productRepository);
+        FacetIndex facetIndex = new FacetIndex(productRepository, PRICE_BANDS);
+        List<Product> products = List.of(
+            product(1L, "Books", "Acme", "19.99", 5),
+            product(2L, "Electronics", "Globex", "249.99", 0),
+            product(3L, "Books", null, "74.50", 2));
+        priceIndex.rebuild(products);
+        facetIndex.rebuild(products);
+        Path path = directory.resolve("catalog.snapshot");
+        service(priceIndex, facetIndex, path).writeSnapshot();
+
+        PriceIndex restoredPrices = new PriceIndex(productRepository);
+        FacetIndex restoredFacets = new FacetIndex(productRepository, PRICE_BANDS);
+        when(productRepository.findCatalogRowsChangedAfter(any(), any(), any(), any())).thenReturn(List.of(
+            new Row(2L, "Electronics", "Globex", "9.99", 4),
+            new Row(4L, "Toys", "Acme", "30.00", 1)));
+        when(productTombstoneRepository.findDeletedAfter(any(), any(), any(), any())).thenReturn(List.of(
+            ProductTombstone.builder().productId(1L).deletedAt(LocalDateTime.now()).build()));
+
+        // When
+        service(restoredPrices, restoredFacets, path).warmUp();
+
+        // Then
+        assertThat(restoredPrices.findIds(BigDecimal.ZERO, new BigDecimal("1000"), 0, 10)).containsExactly(2L, 4L, 3L);
+        FacetSearchResponse inStock = restoredFacets.search(
+            new FacetSearchRequest(null, null, null, true), 0, 10);
+        assertThat(inStock.productIds()).containsExactly(2L, 3L, 4L);
+        assertThat(inStock.facets().get(FacetIndex.CATEGORY))
+            .containsEntry("Books", 1L)
+            .containsEntry("Electronics", 1L)
+            .containsEntry("Toys", 1L);
+        assertThat(inStock.facets().get(FacetIndex.PRICE_BAND)).containsEntry("50-100", 1L);
+        verify(productRepository, never()).findAllPrices();
+        verify(productRepository, never()).findAllFacetValues();
+    }
+
+    @Test
+    @DisplayName("Should load the indexes from the database when there is no snapshot")
+    void warmUp_WithoutSnapshot_ShouldLoadFromDatabase() {
+        // Given
+        PriceIndex priceIndex = new PriceIndex(productRepository);
+        FacetIndex facetIndex = new FacetIndex(productRepository, PRICE_BANDS);
+        when(productRepository.findAllPrices()).thenReturn(List.of());
+        when(productRepository.findAllFacetValues()).thenReturn(List.of());
+
+        // When
+        service(priceIndex, facetIndex, directory.resolve("missing.snapshot")).warmUp();
+
+        // Then
+        verify(productRepository).findAllPrices();
+        verify(productRepository).findAllFacetValues();
+        verifyNoInteractions(productTombstoneRepository);
+    }
+
+    private CatalogSnapshotService service(PriceIndex priceIndex, FacetIndex facetIndex, Path path) {
+        return new CatalogSnapshotService(productRepository, productTombstoneRepository,
+            priceIndex, facetIndex, path, 1000, 30);
+    }
+
+    private static Product product(Long id, String category, String brand, String price, int stock) {
+        return Product.builder()
+            .id(id)
+            .category(category)
+            .brand(brand)
+            .price(new BigDecimal(price))
+            .stockQuantity(stock)
+            .active(true)
+            .build();
+    }
+
+    private record Row(Long id, String category, String brand, String price, int stock) implements CatalogRow {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return new BigDecimal(price);
+        }
+
+        @Override
+        public Integer getStockQuantity() {
+            return stock;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public String getBrand() {
+            return brand;
+        }
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return LocalDateTime.now();
+        }
+
+        @Override
+        public Long getVersion() {
+            return 1L;
+        }
+    }
+}
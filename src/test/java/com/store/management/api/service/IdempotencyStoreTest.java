@@ -0,0 +1,238 @@
+package com.store.management.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IdempotencyStore Tests")
+class IdempotencyStoreTest {
+
+    private static final IdempotencyStore.StoredResponse CREATED =
+        new IdempotencyStore.StoredResponse(201, "application/json",
+            Map.of("Location", List.of("/api/products/1")), "{\"id\":1}".getBytes());
+
+    @Test
+    @DisplayName("Should execute once and replay the stored response for a retry")
+    void execute_WithRetry_ShouldReplayStoredResponse() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(new SimpleMeterRegistry(), 60_000, 100, 1_000);
+        Recorder first = new Recorder(CREATED);
+        Recorder retry = new Recorder(CREATED);
+
+        // When
+        store.execute("user:1|key", "POST /api/products", first);
+        store.execute("user:1|key", "POST /api/products", retry);
+
+        // Then
+        assertThat(first.executions).hasValue(1);
+        assertThat(retry.executions).hasValue(0);
+        assertThat(retry.replayed).containsExactly(CREATED);
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent requests with the same key into one execution")
+    void execute_WithConcurrentRequests_ShouldExecuteOnce() throws Exception {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(new SimpleMeterRegistry(), 60_000, 100, 5_000);
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<Recorder>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    Recorder recorder = new Recorder(CREATED) {
+                        @Override
+                        public void execute(IdempotencyStore.Claim claim) {
+                            executions.incrementAndGet();
+                            executing.countDown();
+                            awaitQuietly(release);
+                            super.execute(claim);
+                        }
+                    };
+                    store.execute("user:1|key", "PUT /api/products/1/stock?quantity=5", recorder);
+                    return recorder;
+                }));
+            }
+
+            // When
+            assertThat(executing.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(50);
+            release.countDown();
+
+            // Then
+            int replays = 0;
+            for (Future<Recorder> result : results) {
+                replays += result.get(5, TimeUnit.SECONDS).replayed.size();
+            }
+            assertThat(executions).hasValue(1);
+            assertThat(replays).isEqualTo(3);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request and forget abandoned keys")
+    void execute_WithDifferentFingerprintOrAbandonedClaim_ShouldHandleKey() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(new SimpleMeterRegistry(), 60_000, 100, 1_000);
+        store.execute("user:1|key", "PUT /api/products/1/price", new Recorder(CREATED));
+        Recorder failing = new Recorder(null);
+
+        // When & Then
+        assertThatThrownBy(() -> store.execute("user:1|key", "PUT /api/products/2/price", new Recorder(CREATED)))
+            .isInstanceOf(IdempotencyStore.KeyReuseException.class);
+
+        store.execute("user:1|other", "DELETE /api/products/1", failing);
+        Recorder retry = new Recorder(CREATED);
+        store.execute("user:1|other", "DELETE /api/products/1", retry);
+        assertThat(retry.executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should keep at most max-entries keys and expire them after the TTL")
+    void execute_BeyondCapacityOrTtl_ShouldEvict() throws InterruptedException {
+        // Given
+        IdempotencyStore bounded = new IdempotencyStore(new SimpleMeterRegistry(), 60_000, 2, 1_000);
+        IdempotencyStore expiring = new IdempotencyStore(new SimpleMeterRegistry(), 1, 100, 1_000);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            bounded.execute("user:1|key-" + i, "POST /api/products", new Recorder(CREATED));
+        }
+        expiring.execute("user:1|key", "POST /api/products", new Recorder(CREATED));
+        Thread.sleep(5);
+        Recorder afterExpiry = new Recorder(CREATED);
+        expiring.execute("user:1|key", "POST /api/products", afterExpiry);
+
+        // Then
+        assertThat(bounded.size()).isEqualTo(2);
+        assertThat(afterExpiry.executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should make room by dropping completed keys and keep keys still in progress")
+    void execute_WhenFull_ShouldNeverEvictInProgressKeys() throws Exception {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(new SimpleMeterRegistry(), 60_000, 2, 1_000);
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<?> slow = executor.submit(() -> store.execute("user:1|slow", "POST /api/orders", new Recorder(CREATED) {
+                @Override
+                public void execute(IdempotencyStore.Claim claim) {
+                    executing.countDown();
+                    awaitQuietly(release);
+                    super.execute(claim);
+                }
+            }));
+            assertThat(executing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            store.execute("user:1|done", "POST /api/products", new Recorder(CREATED));
+            store.execute("user:1|next", "POST /api/products", new Recorder(CREATED));
+            Recorder duplicate = new Recorder(CREATED);
+            Future<?> waiting = executor.submit(() -> store.execute("user:1|slow", "POST /api/orders", duplicate));
+
+            // Then
+            assertThat(store.size()).isEqualTo(2);
+            release.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+            waiting.get(5, TimeUnit.SECONDS);
+            assertThat(duplicate.executions).hasValue(0);
+            assertThat(duplicate.replayed).containsExactly(CREATED);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a new key when every stored key is still in progress")
+    void execute_WhenFullOfInProgressKeys_ShouldRefuseNewKey() throws Exception {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(new SimpleMeterRegistry(), 60_000, 1, 1_000);
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<?> slow = executor.submit(() -> store.execute("user:1|slow", "POST /api/orders", new Recorder(CREATED) {
+                @Override
+                public void execute(IdempotencyStore.Claim claim) {
+                    executing.countDown();
+                    awaitQuietly(release);
+                    super.execute(claim);
+                }
+            }));
+            assertThat(executing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When & Then
+            assertThatThrownBy(() -> store.execute("user:1|new", "POST /api/products", new Recorder(CREATED)))
+                .isInstanceOf(IdempotencyStore.StoreFullException.class);
+            release.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+            Recorder afterCompletion = new Recorder(CREATED);
+            store.execute("user:1|new", "POST /api/products", afterCompletion);
+            assertThat(afterCompletion.executions).hasValue(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Handler that completes claims with a fixed response, or abandons them when it is null
+     */
+    private static class Recorder implements IdempotencyStore.Handler {
+
+        private final IdempotencyStore.StoredResponse response;
+        private final AtomicInteger executions = new AtomicInteger();
+        private final List<IdempotencyStore.StoredResponse> replayed = new ArrayList<>();
+
+        Recorder(IdempotencyStore.StoredResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void execute(IdempotencyStore.Claim claim) {
+            executions.incrementAndGet();
+            if (response == null) {
+                claim.abandon();
+            } else {
+                claim.complete(response);
+            }
+        }
+
+        @Override
+        public void replay(IdempotencyStore.StoredResponse stored) {
+            replayed.add(stored);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.CheckoutRequest;
+import com.store.management.api.dto.OrderLineRequest;
+import com.store.management.api.dto.StockShortage;
+import com.store.management.api.exception.InsufficientStockException;
+import com.store.management.api.model.Product;
+import com.store.management.api.repository.CustomerOrderRepository;
+import com.store.management.api.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import({OrderService.class, StockLedgerService.class})
+@DisplayName("OrderService Repository Tests")
+class OrderServiceRepositoryTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerOrderRepository customerOrderRepository;
+
+    @Test
+    @DisplayName("Should report inactive and unknown products as short lines with nothing available")
+    void placeOrder_WithInactiveAndUnknownProducts_ShouldReportAllShortages() {
+        // Given
+        Product active = productRepository.save(product("Active Product", 5, true));
+        Product inactive = productRepository.save(product("Inactive Product", 50, false));
+        long unknownId = inactive.getId() + 1000;
+        CheckoutRequest request = new CheckoutRequest(List.of(
+            new OrderLineRequest(active.getId(), 2),
+            new OrderLineRequest(inactive.getId(), 1),
+            new OrderLineRequest(unknownId, 3)));
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.placeOrder("user", request))
+            .isInstanceOf(InsufficientStockException.class)
+            .extracting(ex -> ((InsufficientStockException) ex).getShortages())
+            .isEqualTo(List.of(
+                new StockShortage(inactive.getId(), 1, 0),
+                new StockShortage(unknownId, 3, 0)));
+        assertThat(customerOrderRepository.count()).isZero();
+        assertThat(productRepository.findById(active.getId())).get()
+            .extracting(Product::getStockQuantity).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should sell active products that have enough stock")
+    void placeOrder_WithEnoughStock_ShouldTakeStock() {
+        // Given
+        Product active = productRepository.save(product("Active Product", 5, true));
+
+        // When
+        orderService.placeOrder("user", new CheckoutRequest(List.of(new OrderLineRequest(active.getId(), 2))));
+
+        // Then
+        assertThat(customerOrderRepository.count()).isEqualTo(1);
+        assertThat(productRepository.findById(active.getId())).get()
+            .extracting(Product::getStockQuantity).isEqualTo(3);
+    }
+
+    private static Product product(String name, int stockQuantity, boolean active) {
+        return Product.builder()
+            .name(name)
+            .price(BigDecimal.TEN)
+            .category("Books")
+            .stockQuantity(stockQuantity)
+            .active(active)
+            .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.CheckoutRequest;
+import com.store.management.api.dto.OrderLineRequest;
+import com.store.management.api.dto.OrderResponse;
+import com.store.management.api.dto.StockMovementResponse;
+import com.store.management.api.dto.StockShortage;
+import com.store.management.api.exception.InsufficientStockException;
+import com.store.management.api.model.CustomerOrder;
+import com.store.management.api.model.MovementType;
+import com.store.management.api.model.Product;
+import com.store.management.api.repository.CustomerOrderRepository;
+import com.store.management.api.repository.OrderLineRepository;
+import com.store.management.api.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderService Tests")
+class OrderServiceTest {
+    
+    @Mock
+    private CustomerOrderRepository customerOrderRepository;
+    
+    @Mock
+    private OrderLineRepository orderLineRepository;
+    
+    @Mock
+    private ProductRepository productRepository;
+    
+    @Mock
+    private StockLedgerService stockLedgerService;
+    
+    @InjectMocks
+    private OrderService orderService;
+    
+    @Test
+    @DisplayName("Should combine lines per product, lock them in ID order and sell each once")
+    void placeOrder_WithRepeatedProduct_ShouldCombineLinesAndLockInIdOrder() {
+        // Given
+        Product first = product(3L, 10);
+        Product second = product(8L, 5);
+        when(productRepository.findAllByIdForUpdate(argThat(ids -> List.copyOf(ids).equals(List.of(3L, 8L)))))
+            .thenReturn(List.of(first, second));
+        when(customerOrderRepository.save(any(CustomerOrder.class))).thenAnswer(invocation -> {
+            CustomerOrder order = invocation.getArgument(0);
+            order.setId(42L);
+            return order;
+        });
+        when(stockLedgerService.recordLocked(any(Product.class), eq(MovementType.SALE), anyInt(), eq("Order 42")))
+            .thenReturn(new StockMovementResponse(1L, 3L, 2L, MovementType.SALE, -1, "Order 42", null));
+        CheckoutRequest request = new CheckoutRequest(List.of(
+            new OrderLineRequest(8L, 2),
+            new OrderLineRequest(3L, 1),
+            new OrderLineRequest(8L, 3)));
+        
+        // When
+        OrderResponse response = orderService.placeOrder("user", request);
+        
+        // Then
+        assertThat(response.id()).isEqualTo(42L);
+        assertThat(response.totalAmount()).isEqualByComparingTo("60");
+        assertThat(response.lines()).extracting(line -> line.productId() + "x" + line.quantity())
+            .containsExactly("3x1", "8x5");
+        verify(stockLedgerService).recordLocked(first, MovementType.SALE, 1, "Order 42");
+        verify(stockLedgerService).recordLocked(second, MovementType.SALE, 5, "Order 42");
+        verify(orderLineRepository).saveAll(argThat(lines -> ((List<?>) lines).size() == 2));
+    }
+    
+    @Test
+    @DisplayName("Should reject the order with every short line, unknown products included, and write nothing")
+    void placeOrder_WithShortLines_ShouldReportAllShortagesAndWriteNothing() {
+        // Given
+        Product enough = product(2L, 10);
+        Product short_ = product(3L, 2);
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(enough, short_));
+        CheckoutRequest request = new CheckoutRequest(List.of(
+            new OrderLineRequest(99L, 1),
+            new OrderLineRequest(2L, 10),
+            new OrderLineRequest(3L, 4)));
+        
+        // When & Then
+        assertThatThrownBy(() -> orderService.placeOrder("user", request))
+            .isInstanceOf(InsufficientStockException.class)
+            .extracting(ex -> ((InsufficientStockException) ex).getShortages())
+            .isEqualTo(List.of(new StockShortage(3L, 4, 2), new StockShortage(99L, 1, 0)));
+        verifyNoInteractions(customerOrderRepository, orderLineRepository, stockLedgerService);
+    }
+    
+    private static Product product(Long id, int stockQuantity) {
+        return Product.builder()
+            .id(id)
+            .name("Product " + id)
+            .price(BigDecimal.TEN)
+            .category("Books")
+            .stockQuantity(stockQuantity)
+            .build();
+    }
+}
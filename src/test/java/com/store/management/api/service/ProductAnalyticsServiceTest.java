@@ -0,0 +1,116 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.CatalogAnalyticsResponse;
+import com.store.management.api.dto.ProductColumns;
+import com.store.management.api.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductAnalyticsService Tests")
+class ProductAnalyticsServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductAnalyticsService productAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        productAnalyticsService = new ProductAnalyticsService(productRepository, transactionManager, 2);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Should load the snapshot lazily in batches inside a read-only transaction")
+    void getCatalogAnalytics_WhenNotLoaded_ShouldLoadReadOnlyAndAggregate() {
+        // Given
+        when(productRepository.count()).thenReturn(3L);
+        when(productRepository.findColumnsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(
+            new Columns(1L, "10.50", 4, "Books"),
+            new Columns(2L, "100.00", 2, "Electronics")));
+        when(productRepository.findColumnsAfter(2L, PageRequest.of(0, 2))).thenReturn(List.of(
+            new Columns(3L, "1.25", 8, "Books")));
+
+        // When
+        CatalogAnalyticsResponse response = productAnalyticsService.getCatalogAnalytics();
+
+        // Then
+        assertThat(response.productCount()).isEqualTo(3);
+        assertThat(response.totalStock()).isEqualTo(14);
+        assertThat(response.totalStockValue()).isEqualByComparingTo("252.00");
+        assertThat(response.stockByCategory()).containsExactly(entry("Books", 12L), entry("Electronics", 2L));
+        assertThat(productAnalyticsService.findProductIdsWithStockBelow(5)).containsExactly(1L, 2L);
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(1)).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+        verify(productRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("Should replace the snapshot on refresh")
+    void refresh_AfterChanges_ShouldServeNewSnapshot() {
+        // Given
+        List<ProductColumns> before = List.of(new Columns(1L, "5.00", 1, "Books"));
+        List<ProductColumns> after = List.of(new Columns(1L, "5.00", 10, "Books"));
+        when(productRepository.count()).thenReturn(1L);
+        when(productRepository.findColumnsAfter(eq(0L), any())).thenReturn(before).thenReturn(after);
+        productAnalyticsService.refresh();
+        assertThat(productAnalyticsService.getCatalogAnalytics().totalStock()).isEqualTo(1);
+
+        // When
+        productAnalyticsService.refresh();
+
+        // Then
+        assertThat(productAnalyticsService.getCatalogAnalytics().totalStock()).isEqualTo(10);
+        assertThat(productAnalyticsService.findProductIdsWithStockBelow(5)).isEmpty();
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private record Columns(Long id, BigDecimal price, Integer stockQuantity, String category) implements ProductColumns {
+
+        Columns(Long id, String price, Integer stockQuantity, String category) {
+            this(id, new BigDecimal(price), stockQuantity, category);
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        @Override
+        public Integer getStockQuantity() {
+            return stockQuantity;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.store.management.api.service;
+
+import com.store.management.api.model.ArchivedProduct;
+import com.store.management.api.model.Product;
+import com.store.management.api.repository.ArchivedProductRepository;
+import com.store.management.api.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "products.archive.batch-size=2")
+@Import(ProductArchiveService.class)
+@DisplayName("ProductArchiveService Tests")
+class ProductArchiveServiceTest {
+
+    @Autowired
+    private ProductArchiveService productArchiveService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ArchivedProductRepository archivedProductRepository;
+
+    @Test
+    @DisplayName("Should move deactivated products to the archive in batches and keep active ones")
+    void archiveInactiveProducts_ShouldMoveOnlyDeactivatedRows() {
+        // Given
+        Product kept = productRepository.save(product("Kept Product", true));
+        List<Long> deactivated = List.of(
+            productRepository.save(product("Old Product 1", false)).getId(),
+            productRepository.save(product("Old Product 2", false)).getId(),
+            productRepository.save(product("Old Product 3", false)).getId());
+
+        // When
+        int archived = productArchiveService.archiveInactiveProducts();
+
+        // Then
+        assertThat(archived).isEqualTo(3);
+        assertThat(archivedProductRepository.findAll())
+            .extracting(ArchivedProduct::getId, ArchivedProduct::getName)
+            .containsExactlyInAnyOrder(
+                tuple(deactivated.get(0), "Old Product 1"),
+                tuple(deactivated.get(1), "Old Product 2"),
+                tuple(deactivated.get(2), "Old Product 3"));
+        assertThat(archivedProductRepository.findAll()).allSatisfy(product ->
+            assertThat(product.getArchivedAt()).isNotNull());
+        assertThat(productRepository.findInactiveIds(10)).isEmpty();
+        assertThat(productRepository.findAll()).extracting(Product::getId).containsExactly(kept.getId());
+    }
+
+    @Test
+    @DisplayName("Should archive nothing and change nothing when run again")
+    void archiveInactiveProducts_WhenRerun_ShouldBeIdempotent() {
+        // Given
+        Product kept = productRepository.save(product("Kept Product", true));
+        productRepository.save(product("Old Product", false));
+        productArchiveService.archiveInactiveProducts();
+
+        // When
+        int archived = productArchiveService.archiveInactiveProducts();
+
+        // Then
+        assertThat(archived).isZero();
+        assertThat(archivedProductRepository.count()).isEqualTo(1);
+        assertThat(productRepository.findAll()).extracting(Product::getId).containsExactly(kept.getId());
+    }
+
+    private static Product product(String name, boolean active) {
+        return Product.builder()
+            .name(name)
+            .price(BigDecimal.TEN)
+            .category("Books")
+            .stockQuantity(5)
+            .active(active)
+            .build();
+    }
+}
@@ -1,10 +1,20 @@
 package com.store.management.api.service;
 
+import com.store.management.api.dto.BatchGetResponse;
+import com.store.management.api.dto.ChangeCursor;
+import com.store.management.api.dto.ChangeFeedResponse;
 import com.store.management.api.dto.CreateProductRequest;
+import com.store.management.api.dto.ProductChange;
+import com.store.management.api.dto.ProductField;
 import com.store.management.api.dto.ProductResponse;
 import com.store.management.api.dto.UpdatePriceRequest;
+import com.store.management.api.event.ProductChangedEvent;
+import com.store.management.api.index.FacetIndex;
+import com.store.management.api.index.PriceIndex;
 import com.store.management.api.model.Product;
+import com.store.management.api.model.ProductTombstone;
 import com.store.management.api.repository.ProductRepository;
+import com.store.management.api.repository.ProductTombstoneRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -21,7 +32,10 @@ import org.springframework.data.domain.Pageable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,6 +48,21 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
     
+    @Mock
+    private ProductTombstoneRepository productTombstoneRepository;
+    
+    @Mock
+    private PriceIndex priceIndex;
+    
+    @Mock
+    private FacetIndex facetIndex;
+    
+    @Mock
+    private StockLedgerService stockLedgerService;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private ProductService productService;
     
@@ -59,7 +88,8 @@ class ProductServiceTest {
             "Test Description",
             new BigDecimal("99.99"),
             "Electronics",
-            10
+            10,
+            "TestBrand"
         );
         
         updatePriceRequest = new UpdatePriceRequest(new BigDecimal("149.99"));
@@ -87,6 +117,7 @@ class ProductServiceTest {
         
         verify(productRepository).findByNameAndCategory(createRequest.name(), createRequest.category());
         verify(productRepository).save(any(Product.class));
+        verify(stockLedgerService).recordOpeningBalance(any(Product.class));
     }
     
     @Test
@@ -206,7 +237,7 @@ class ProductServiceTest {
             .price(newPrice)
             .build();
         
-        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findByIdForUpdate(productId)).thenReturn(Optional.of(testProduct));
         when(productRepository.save(any(Product.class))).thenReturn(updatedProduct);
         
         // When
@@ -216,7 +247,7 @@ class ProductServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.price()).isEqualTo(newPrice);
         
-        verify(productRepository).findById(productId);
+        verify(productRepository).findByIdForUpdate(productId);
         verify(productRepository).save(any(Product.class));
     }
     
@@ -225,19 +256,19 @@ class ProductServiceTest {
     void changePrice_WithInvalidId_ShouldThrowException() {
         // Given
         Long productId = 999L;
-        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+        when(productRepository.findByIdForUpdate(productId)).thenReturn(Optional.empty());
         
         // When & Then
         assertThatThrownBy(() -> productService.changePrice(productId, updatePriceRequest))
             .isInstanceOf(EntityNotFoundException.class)
             .hasMessageContaining("Product not found with ID: " + productId);
         
-        verify(productRepository).findById(productId);
+        verify(productRepository).findByIdForUpdate(productId);
         verify(productRepository, never()).save(any(Product.class));
     }
     
     @Test
-    @DisplayName("Should update stock successfully when product exists")
+    @DisplayName("Should update stock through the stock ledger when product exists")
     void updateStock_WithValidIdAndQuantity_ShouldReturnUpdatedProduct() {
         // Given
         Long productId = 1L;
@@ -246,8 +277,7 @@ class ProductServiceTest {
             .stockQuantity(newQuantity)
             .build();
         
-        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(any(Product.class))).thenReturn(updatedProduct);
+        when(stockLedgerService.recount(productId, newQuantity, null)).thenReturn(updatedProduct);
         
         // When
         ProductResponse result = productService.updateStock(productId, newQuantity);
@@ -256,24 +286,25 @@ class ProductServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.stockQuantity()).isEqualTo(newQuantity);
         
-        verify(productRepository).findById(productId);
-        verify(productRepository).save(any(Product.class));
+        verify(stockLedgerService).recount(productId, newQuantity, null);
+        verify(productRepository, never()).save(any(Product.class));
     }
     
     @Test
-    @DisplayName("Should delete product successfully when product exists")
+    @DisplayName("Should soft-delete product with a single update when product exists")
     void deleteProduct_WithValidId_ShouldDeleteProduct() {
         // Given
         Long productId = 1L;
-        when(productRepository.existsById(productId)).thenReturn(true);
-        doNothing().when(productRepository).deleteById(productId);
+        when(productRepository.deactivate(eq(productId), any(LocalDateTime.class))).thenReturn(1);
         
         // When
         productService.deleteProduct(productId);
         
         // Then
-        verify(productRepository).existsById(productId);
-        verify(productRepository).deleteById(productId);
+        verify(productRepository).deactivate(eq(productId), any(LocalDateTime.class));
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).deleteById(any());
+        verify(productTombstoneRepository).save(argThat(tombstone -> productId.equals(tombstone.getProductId())));
     }
     
     @Test
@@ -281,15 +312,15 @@ class ProductServiceTest {
     void deleteProduct_WithInvalidId_ShouldThrowException() {
         // Given
         Long productId = 999L;
-        when(productRepository.existsById(productId)).thenReturn(false);
+        when(productRepository.deactivate(eq(productId), any(LocalDateTime.class))).thenReturn(0);
         
         // When & Then
         assertThatThrownBy(() -> productService.deleteProduct(productId))
             .isInstanceOf(EntityNotFoundException.class)
             .hasMessageContaining("Product not found with ID: " + productId);
         
-        verify(productRepository).existsById(productId);
-        verify(productRepository, never()).deleteById(productId);
+        verify(productRepository).deactivate(eq(productId), any(LocalDateTime.class));
+        verifyNoInteractions(productTombstoneRepository);
     }
     
     @Test
@@ -299,7 +330,8 @@ class ProductServiceTest {
         BigDecimal minPrice = new BigDecimal("50.00");
         BigDecimal maxPrice = new BigDecimal("150.00");
         List<Product> products = List.of(testProduct);
-        when(productRepository.findByPriceBetween(minPrice, maxPrice)).thenReturn(products);
+        when(priceIndex.findIds(minPrice, maxPrice, 0, Integer.MAX_VALUE)).thenReturn(List.of(1L));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(products);
         
         // When
         List<ProductResponse> result = productService.findProductsByPriceRange(minPrice, maxPrice);
@@ -309,7 +341,57 @@ class ProductServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).price()).isEqualTo(testProduct.getPrice());
         
-        verify(productRepository).findByPriceBetween(minPrice, maxPrice);
+        verify(priceIndex).findIds(minPrice, maxPrice, 0, Integer.MAX_VALUE);
+        verify(productRepository, never()).findByPriceBetween(any(), any());
+    }
+    
+    @Test
+    @DisplayName("Should page products by price range using the price index total")
+    void findProductsByPriceRange_WithPageable_ShouldReturnPageFromIndex() {
+        // Given
+        BigDecimal minPrice = new BigDecimal("50.00");
+        BigDecimal maxPrice = new BigDecimal("150.00");
+        Pageable pageable = PageRequest.of(2, 1);
+        when(priceIndex.count(minPrice, maxPrice)).thenReturn(5L);
+        when(priceIndex.findIds(minPrice, maxPrice, 2, 1)).thenReturn(List.of(1L));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(testProduct));
+        
+        // When
+        Page<ProductResponse> result = productService.findProductsByPriceRange(minPrice, maxPrice, pageable);
+        
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getContent()).extracting(ProductResponse::id).containsExactly(1L);
+    }
+    
+    @Test
+    @DisplayName("Should leave out products whose price moved out of range after the index was read")
+    void findProductsByPriceRange_WithStaleIndexEntry_ShouldSkipProduct() {
+        // Given
+        BigDecimal minPrice = new BigDecimal("10.00");
+        BigDecimal maxPrice = new BigDecimal("50.00");
+        when(priceIndex.findIds(minPrice, maxPrice, 0, Integer.MAX_VALUE)).thenReturn(List.of(1L));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(testProduct));
+        
+        // When
+        List<ProductResponse> result = productService.findProductsByPriceRange(minPrice, maxPrice);
+        
+        // Then
+        assertThat(result).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should publish a change event when price changes")
+    void changePrice_WithValidIdAndPrice_ShouldPublishChangeEvent() {
+        // Given
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        
+        // When
+        productService.changePrice(1L, updatePriceRequest);
+        
+        // Then
+        verify(eventPublisher).publishEvent(ProductChangedEvent.updated(testProduct));
     }
     
     @Test
@@ -352,12 +434,137 @@ class ProductServiceTest {
         // Given
         Long productId = 1L;
         UpdatePriceRequest invalidRequest = new UpdatePriceRequest(null);
-        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findByIdForUpdate(productId)).thenReturn(Optional.of(testProduct));
         
         // When & Then
         assertThatThrownBy(() -> productService.changePrice(productId, invalidRequest))
             .isInstanceOf(IllegalArgumentException.class);
         
-        verify(productRepository).findById(productId);
+        verify(productRepository).findByIdForUpdate(productId);
+    }
+    
+    @Test
+    @DisplayName("Should batch-get products in request order and report missing IDs")
+    void findProducts_WithMixedIds_ShouldKeepOrderAndReportMissing() {
+        // Given
+        Product secondProduct = testProduct.toBuilder()
+            .id(2L)
+            .name("Second Product")
+            .build();
+        List<Long> ids = List.of(2L, 999L, 1L, 2L);
+        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct, secondProduct));
+        
+        // When
+        BatchGetResponse result = productService.findProducts(ids);
+        
+        // Then
+        assertThat(result.products()).extracting(ProductResponse::id).containsExactly(2L, 1L);
+        assertThat(result.missingIds()).containsExactly(999L);
+        
+        verify(productRepository, times(1)).findAllById(any());
+    }
+    
+    @Test
+    @DisplayName("Should reject batch-get requests above the batch limit")
+    void findProducts_WithTooManyIds_ShouldThrowException() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, ProductService.MAX_BATCH_SIZE + 1)
+            .boxed()
+            .toList();
+        
+        // When & Then
+        assertThatThrownBy(() -> productService.findProducts(ids))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Cannot request more than");
+        
+        verify(productRepository, never()).findAllById(any());
+    }
+    
+    @Test
+    @DisplayName("Should select only the requested fields when listing products")
+    void getAllProducts_WithFields_ShouldSelectRequestedFields() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Set<ProductField> fields = ProductField.parse("price,id");
+        Map<String, Object> row = Map.of("id", 1L, "price", new BigDecimal("99.99"));
+        when(productRepository.findAllFields(fields, pageable))
+            .thenReturn(new PageImpl<>(List.of(row), pageable, 1));
+        
+        // When
+        Page<Map<String, Object>> result = productService.getAllProducts(pageable, fields);
+        
+        // Then
+        assertThat(result.getContent()).containsExactly(row);
+        
+        verify(productRepository, never()).findAll(any(Pageable.class));
+    }
+    
+    @Test
+    @DisplayName("Should select only the requested fields by category, including non-summary ones")
+    void findProductsByCategory_WithDescriptionField_ShouldSelectRequestedFields() {
+        // Given
+        String category = "Electronics";
+        Set<ProductField> fields = ProductField.parse("name,description");
+        Map<String, Object> row = Map.of("name", testProduct.getName(), "description", testProduct.getDescription());
+        when(productRepository.findFieldsByCategory(category, fields)).thenReturn(List.of(row));
+        
+        // When
+        List<Map<String, Object>> result = productService.findProductsByCategory(category, fields);
+        
+        // Then
+        assertThat(result).containsExactly(row);
+        
+        verify(productRepository, never()).findByCategory(category);
+    }
+    
+    @Test
+    @DisplayName("Should reject unknown fields")
+    void parseFields_WithUnknownField_ShouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> ProductField.parse("id,secret"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unknown product field: secret");
+    }
+    
+    @Test
+    @DisplayName("Should merge updates and tombstones in (changedAt, id) order and resume from the cursor")
+    void findChangesSince_WithUpdatesAndDeletes_ShouldReturnOrderedPage() {
+        // Given
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Product updated = testProduct.toBuilder().id(3L).updatedAt(since.plusSeconds(1)).build();
+        Product laterUpdated = testProduct.toBuilder().id(1L).updatedAt(since.plusSeconds(3)).build();
+        ProductTombstone deleted = ProductTombstone.builder().productId(2L).deletedAt(since.plusSeconds(2)).build();
+        when(productRepository.findChangedAfter(eq(since), eq(Long.MAX_VALUE), any(), eq(PageRequest.of(0, 3))))
+            .thenReturn(List.of(updated, laterUpdated));
+        when(productTombstoneRepository.findDeletedAfter(eq(since), eq(Long.MAX_VALUE), any(), eq(PageRequest.of(0, 3))))
+            .thenReturn(List.of(deleted));
+        
+        // When
+        ChangeFeedResponse result = productService.findChangesSince(since, null, 2);
+        
+        // Then
+        assertThat(result.changes())
+            .extracting(ProductChange::productId, ProductChange::operation)
+            .containsExactly(
+                tuple(3L, ProductChange.Operation.UPSERT),
+                tuple(2L, ProductChange.Operation.DELETE));
+        assertThat(result.changes().get(1).product()).isNull();
+        assertThat(result.hasMore()).isTrue();
+        assertThat(ChangeCursor.parse(result.nextCursor()))
+            .isEqualTo(new ChangeCursor(since.plusSeconds(2), 2L));
+    }
+    
+    @Test
+    @DisplayName("Should require a watermark or cursor and reject malformed cursors")
+    void findChangesSince_WithoutPosition_ShouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> productService.findChangesSince(null, null, 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Either ts or cursor is required");
+        assertThatThrownBy(() -> productService.findChangesSince(null, "not-a-cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid change feed cursor");
+        
+        verifyNoInteractions(productTombstoneRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package com.store.management.api.service;
+
+import com.store.management.api.model.RefreshToken;
+import com.store.management.api.model.Role;
+import com.store.management.api.model.User;
+import com.store.management.api.repository.RefreshTokenRepository;
+import com.store.management.api.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Tests")
+class RefreshTokenServiceTest {
+    
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+    
+    @Test
+    @DisplayName("Should rotate an unused token into a new token of the same family")
+    void rotate_WithUnusedToken_ShouldIssueReplacement() {
+        // Given
+        User user = User.builder().id(7L).username("manager").role(Role.MANAGER).enabled(true).build();
+        String rawToken = refreshTokenService.issue(user);
+        RefreshToken stored = captureSaved();
+        stored.setId(1L);
+        stored.setExpiresAt(LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        
+        // When
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(rawToken);
+        
+        // Then
+        assertThat(rotation.user()).isEqualTo(user);
+        assertThat(rotation.refreshToken()).isNotEqualTo(rawToken);
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues().get(1).getFamilyId()).isEqualTo(stored.getFamilyId());
+        assertThat(saved.getAllValues().get(1).getTokenHash()).isNotEqualTo(stored.getTokenHash());
+        verify(refreshTokenRepository, never()).revokeFamily(any());
+    }
+    
+    @Test
+    @DisplayName("Should revoke the whole family when a used token is presented again")
+    void rotate_WithUsedToken_ShouldRevokeFamily() {
+        // Given
+        User user = User.builder().id(7L).username("manager").role(Role.MANAGER).enabled(true).build();
+        String rawToken = refreshTokenService.issue(user);
+        RefreshToken stored = captureSaved();
+        stored.setId(1L);
+        stored.setExpiresAt(LocalDateTime.now().plusDays(1));
+        stored.setUsedAt(LocalDateTime.now());
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+        
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.rotate(rawToken))
+            .isInstanceOf(BadCredentialsException.class)
+            .hasMessageContaining("already used");
+        
+        verify(refreshTokenRepository).revokeFamily(stored.getFamilyId());
+        verifyNoInteractions(userRepository);
+    }
+    
+    private RefreshToken captureSaved() {
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        return saved.getValue();
+    }
+}
@@ -0,0 +1,132 @@
+package com.store.management.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RequestCoalescer Tests")
+class RequestCoalescerTest {
+
+    private MeterRegistry meterRegistry;
+    private RequestCoalescer requestCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(meterRegistry, 2_000);
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight load between concurrent identical reads")
+    void execute_WithConcurrentIdenticalKeys_ShouldLoadOnce() throws Exception {
+        // Given
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            // When
+            Future<String> leader = executor.submit(() -> requestCoalescer.execute("product:1", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "result";
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 1; i < callers; i++) {
+                followers.add(executor.submit(() -> requestCoalescer.execute("product:1", () -> {
+                    loads.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            waitForCoalesced(callers - 1);
+            releaseLoader.countDown();
+
+            // Then
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(requestCoalescer.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should propagate the leader's exception and not cache it")
+    void execute_WhenLoaderFails_ShouldRethrowAndAllowRetry() {
+        // When & Then
+        assertThatThrownBy(() -> requestCoalescer.execute("product:999", () -> {
+            throw new EntityNotFoundException("Product not found with ID: 999");
+        }))
+            .isInstanceOf(EntityNotFoundException.class);
+
+        assertThat(requestCoalescer.execute("product:999", () -> "loaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    @DisplayName("Should load directly when waiting for the in-flight read times out")
+    void execute_WhenWaitTimesOut_ShouldLoadDirectly() throws Exception {
+        // Given
+        RequestCoalescer shortTimeout = new RequestCoalescer(meterRegistry, 50);
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> shortTimeout.execute("category:Books", () -> {
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "slow";
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            String result = shortTimeout.execute("category:Books", () -> "direct");
+
+            // Then
+            assertThat(result).isEqualTo("direct");
+            assertThat(meterRegistry.counter("products.read.coalescing", "outcome", "timeout").count())
+                .isEqualTo(1.0);
+        } finally {
+            releaseLoader.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("products.read.coalescing", "outcome", "coalesced").count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
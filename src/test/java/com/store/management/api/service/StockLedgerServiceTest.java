@@ -0,0 +1,143 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.LedgerTail;
+import com.store.management.api.dto.StockMovementRequest;
+import com.store.management.api.dto.StockMovementResponse;
+import com.store.management.api.dto.StockReconciliation;
+import com.store.management.api.model.MovementType;
+import com.store.management.api.model.Product;
+import com.store.management.api.model.StockMovement;
+import com.store.management.api.model.StockSnapshot;
+import com.store.management.api.repository.ProductRepository;
+import com.store.management.api.repository.StockMovementRepository;
+import com.store.management.api.repository.StockSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockLedgerService Tests")
+class StockLedgerServiceTest {
+    
+    @Mock
+    private ProductRepository productRepository;
+    
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+    
+    @Mock
+    private StockSnapshotRepository stockSnapshotRepository;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @InjectMocks
+    private StockLedgerService stockLedgerService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockLedgerService, "snapshotEvery", 10);
+    }
+    
+    @Test
+    @DisplayName("Should apply a sale to the locked product, append it and snapshot every N movements")
+    void record_OnSnapshotBoundary_ShouldAppendAndSnapshot() {
+        // Given
+        Product product = product(1L, 12, 9L);
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
+        when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        StockMovementResponse movement = stockLedgerService.record(1L, MovementType.SALE, 5, "order-7");
+        
+        // Then
+        assertThat(movement.quantity()).isEqualTo(-5);
+        assertThat(movement.version()).isEqualTo(10L);
+        assertThat(product.getStockQuantity()).isEqualTo(7);
+        verify(stockSnapshotRepository).save(argThat(snapshot ->
+            snapshot.getVersion() == 10L && snapshot.getQuantity() == 7));
+    }
+    
+    @Test
+    @DisplayName("Should reject the whole batch when one movement would take stock below zero")
+    void recordAll_WithShortfall_ShouldThrowBeforeAppending() {
+        // Given
+        Product first = product(1L, 10, 1L);
+        Product second = product(2L, 1, 1L);
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(first, second));
+        when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        List<StockMovementRequest> requests = List.of(
+            new StockMovementRequest(1L, MovementType.SALE, 3, null),
+            new StockMovementRequest(2L, MovementType.SALE, 2, null));
+        
+        // When & Then
+        assertThatThrownBy(() -> stockLedgerService.recordAll(requests))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Insufficient stock quantity for product ID: 2");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    @DisplayName("Should rebuild stock from the latest snapshot plus the movements after it")
+    void reconcile_WithSnapshot_ShouldReplayOnlyTheTail() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 42, 103L)));
+        when(stockSnapshotRepository.findFirstByProductIdOrderByVersionDesc(1L)).thenReturn(Optional.of(
+            StockSnapshot.builder().productId(1L).version(100L).quantity(40).createdAt(LocalDateTime.now()).build()));
+        LedgerTail tail = mock(LedgerTail.class);
+        when(tail.getQuantity()).thenReturn(2L);
+        when(tail.getMovements()).thenReturn(3L);
+        when(tail.getVersion()).thenReturn(103L);
+        when(stockMovementRepository.sumAfter(1L, 100L)).thenReturn(tail);
+        
+        // When
+        StockReconciliation result = stockLedgerService.reconcile(1L);
+        
+        // Then
+        assertThat(result.ledgerQuantity()).isEqualTo(42L);
+        assertThat(result.replayedMovements()).isEqualTo(3L);
+        assertThat(result.consistent()).isTrue();
+    }
+    
+    @Test
+    @DisplayName("Should record a recount as the difference from the current stock")
+    void recount_WithNewQuantity_ShouldAppendAdjustment() {
+        // Given
+        Product product = product(1L, 12, 4L);
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
+        
+        // When
+        stockLedgerService.recount(1L, 20, null);
+        
+        // Then
+        verify(stockMovementRepository).save(argThat(movement ->
+            movement.getType() == MovementType.ADJUSTMENT && movement.getQuantity() == 8 && movement.getVersion() == 5L));
+        assertThat(product.getStockQuantity()).isEqualTo(20);
+    }
+    
+    private static Product product(Long id, int stockQuantity, long stockVersion) {
+        return Product.builder()
+            .id(id)
+            .name("Product " + id)
+            .price(BigDecimal.TEN)
+            .category("Books")
+            .stockQuantity(stockQuantity)
+            .stockVersion(stockVersion)
+            .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.store.management.api.service;
+
+import com.store.management.api.model.Product;
+import com.store.management.api.model.Store;
+import com.store.management.api.model.StoreInventory;
+import com.store.management.api.repository.ProductRepository;
+import com.store.management.api.repository.StoreInventoryRepository;
+import com.store.management.api.repository.StoreRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("StoreService Concurrency Tests")
+class StoreServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private StoreInventoryRepository storeInventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Store store;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        store = storeRepository.save(Store.builder()
+            .code("RACE-01")
+            .name("Race Store")
+            .latitude(52.52)
+            .longitude(13.40)
+            .build());
+        product = productRepository.save(Product.builder()
+            .name("Race Product")
+            .price(BigDecimal.TEN)
+            .category("Books")
+            .stockQuantity(0)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        storeInventoryRepository.deleteById(new StoreInventory.Key(product.getId(), store.getId()));
+        storeRepository.delete(store);
+        productRepository.delete(product);
+    }
+
+    @Test
+    @DisplayName("Should create the stock row once when first adjustments for a store and product race")
+    void adjustStock_WithConcurrentFirstAdjustments_ShouldApplyEveryDelta() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return storeService.adjustStock(store.getId(), product.getId(), 1);
+                }));
+            }
+
+            // When
+            start.countDown();
+
+            // Then
+            for (Future<?> result : results) {
+                assertThatCode(() -> result.get(30, TimeUnit.SECONDS)).doesNotThrowAnyException();
+            }
+            assertThat(storeInventoryRepository.findById(new StoreInventory.Key(product.getId(), store.getId())))
+                .get()
+                .extracting(StoreInventory::getQuantity)
+                .isEqualTo(THREADS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
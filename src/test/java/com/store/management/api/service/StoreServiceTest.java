@@ -0,0 +1,133 @@
+package com.store.management.api.service;
+
+import com.store.management.api.dto.ProductStockSummary;
+import com.store.management.api.dto.StockSummaryRow;
+import com.store.management.api.dto.StoreInventoryResponse;
+import com.store.management.api.dto.StoreStockResponse;
+import com.store.management.api.dto.StoreStockRow;
+import com.store.management.api.model.Store;
+import com.store.management.api.model.StoreInventory;
+import com.store.management.api.repository.ProductRepository;
+import com.store.management.api.repository.StoreInventoryRepository;
+import com.store.management.api.repository.StoreRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StoreService Tests")
+class StoreServiceTest {
+    
+    @Mock
+    private StoreRepository storeRepository;
+    
+    @Mock
+    private StoreInventoryRepository storeInventoryRepository;
+    
+    @Mock
+    private ProductRepository productRepository;
+    
+    @InjectMocks
+    private StoreService storeService;
+    
+    @Test
+    @DisplayName("Should create the stock row when adjusting stock a store has never held")
+    void adjustStock_WithoutRow_ShouldCreateRow() {
+        // Given
+        when(storeInventoryRepository.adjustQuantity(eq(3L), eq(1L), eq(5), any(LocalDateTime.class))).thenReturn(0);
+        when(storeRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(Store.builder().id(3L).build()));
+        when(productRepository.existsById(1L)).thenReturn(true);
+        when(storeInventoryRepository.save(any(StoreInventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        StoreInventoryResponse response = storeService.adjustStock(3L, 1L, 5);
+        
+        // Then
+        assertThat(response.storeId()).isEqualTo(3L);
+        assertThat(response.productId()).isEqualTo(1L);
+        assertThat(response.quantity()).isEqualTo(5);
+        verify(storeInventoryRepository, times(2)).adjustQuantity(eq(3L), eq(1L), eq(5), any(LocalDateTime.class));
+    }
+    
+    @Test
+    @DisplayName("Should reject an adjustment that would take stock below zero")
+    void adjustStock_WithInsufficientStock_ShouldThrowException() {
+        // Given
+        when(storeInventoryRepository.adjustQuantity(eq(3L), eq(1L), eq(-5), any(LocalDateTime.class))).thenReturn(0);
+        when(storeInventoryRepository.existsById(new StoreInventory.Key(1L, 3L))).thenReturn(true);
+        
+        // When & Then
+        assertThatThrownBy(() -> storeService.adjustStock(3L, 1L, -5))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Insufficient stock quantity");
+        verify(storeInventoryRepository, never()).save(any());
+    }
+    
+    @Test
+    @DisplayName("Should drop bounding box corners outside the radius and sort nearest first")
+    void findStockNearby_WithStoresInBox_ShouldFilterAndSortByDistance() {
+        // Given
+        StoreStockRow far = row(1L, 52.50, 13.40, 4);
+        StoreStockRow near = row(2L, 52.52, 13.41, 7);
+        StoreStockRow corner = row(3L, 52.60, 13.53, 9);
+        when(storeInventoryRepository.findStockByProductWithin(eq(10L), eq(1),
+                anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+            .thenReturn(List.of(far, near, corner));
+        
+        // When
+        List<StoreStockResponse> result = storeService.findStockNearby(10L, 52.52, 13.405, 10, 1);
+        
+        // Then
+        assertThat(result).extracting(StoreStockResponse::storeId).containsExactly(2L, 1L);
+        assertThat(result.get(0).distanceKm()).isLessThan(1);
+    }
+    
+    @Test
+    @DisplayName("Should reject a radius above the maximum")
+    void findStockNearby_WithHugeRadius_ShouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> storeService.findStockNearby(10L, 52.52, 13.405, 10_000, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(storeInventoryRepository);
+    }
+    
+    @Test
+    @DisplayName("Should summarize stock in request order with zeros for products without stock rows")
+    void summarizeStock_WithMissingRows_ShouldReturnZeros() {
+        // Given
+        StockSummaryRow summary = mock(StockSummaryRow.class);
+        when(summary.getProductId()).thenReturn(2L);
+        when(summary.getTotalQuantity()).thenReturn(30L);
+        when(summary.getStoreCount()).thenReturn(4L);
+        when(summary.getStoresInStock()).thenReturn(3L);
+        when(storeInventoryRepository.summarizeByProductIdIn(anyCollection())).thenReturn(List.of(summary));
+        
+        // When
+        List<ProductStockSummary> result = storeService.summarizeStock(List.of(5L, 2L));
+        
+        // Then
+        assertThat(result).containsExactly(
+            new ProductStockSummary(5L, 0L, 0L, 0L),
+            new ProductStockSummary(2L, 30L, 4L, 3L));
+    }
+    
+    private static StoreStockRow row(Long storeId, double latitude, double longitude, int quantity) {
+        StoreStockRow row = mock(StoreStockRow.class);
+        when(row.getStoreId()).thenReturn(storeId);
+        when(row.getLatitude()).thenReturn(latitude);
+        when(row.getLongitude()).thenReturn(longitude);
+        lenient().when(row.getQuantity()).thenReturn(quantity);
+        return row;
+    }
+}